@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# 构建并运行 JMH 基准测试，结果以 JSON 格式写入 benchmarks/results/，文件名包含时间与提交号，便于对比不同版本。
+#
+# 用法（在项目根目录执行，参数会原样传给 JMH）：
+#   benchmarks/run.sh                       运行全部基准测试
+#   benchmarks/run.sh PrimesBenchmark       只运行名称匹配的基准测试
+#   benchmarks/run.sh -f 3 -wi 5 -i 10      覆盖注解中的 fork、预热、测量次数
+#
+# 分配回归检查见 AllocationGate：mvn -pl benchmarks -am verify -P alloc-gate
+#
+# 需要 JDK 21。为了结果可复现，固定了 JVM 参数，运行时尽量关闭其他负载。
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+mvn -B -q -pl benchmarks -am package -DskipTests
+
+mkdir -p benchmarks/results
+revision=$(git rev-parse --short HEAD 2>/dev/null || echo unknown)
+result="benchmarks/results/$(date +%Y%m%d-%H%M%S)-${revision}.json"
+
+java -jar benchmarks/target/benchmarks.jar \
+    -jvmArgs "-Xms2g -Xmx2g -XX:+UseG1GC" \
+    -rf json -rff "$result" "$@"
+
+echo "结果已写入 $result"
@@ -0,0 +1,178 @@
+package indi.mofan.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * 分配回归检查：使用 JMH 的 {@link GCProfiler} 运行基准测试，读取每个方法每次调用分配的字节数
+ * （{@code gc.alloc.rate.norm}），与提交到仓库中的基准文件比较，超过阈值时以非 0 状态码退出。
+ * <p>
+ * 通过系统属性配置：
+ * <ul>
+ *     <li>{@code gate.baseline}：基准文件，默认为 {@code benchmarks/allocation-baseline.txt}</li>
+ *     <li>{@code gate.include}、{@code gate.exclude}：参与检查的基准测试的正则，默认排除并行的基准测试
+ *     （其分配量与 CPU 核数有关）、耗时很长的大数阶乘以及冷启动的基准测试（分配量主要来自类加载）。
+ *     基准文件中被这两个正则覆盖、但本次没有结果的条目视为失败，避免改名或删除参数后检查被悄悄跳过</li>
+ *     <li>{@code gate.threshold}：允许增长的比例，默认为 0.1</li>
+ *     <li>{@code gate.slack}：允许增长的字节数，分配量很小时避免误报，默认为 64</li>
+ *     <li>{@code gate.update}：为 true 时用本次结果覆盖基准文件</li>
+ * </ul>
+ * 通过 {@code mvn -pl benchmarks -am verify -P alloc-gate} 运行。
+ *
+ * @author mofan
+ * @date 2026/10/20 14:00
+ */
+public final class AllocationGate {
+
+    static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    private AllocationGate() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path baseline = Path.of(System.getProperty("gate.baseline", "benchmarks/allocation-baseline.txt"));
+        double threshold = Double.parseDouble(System.getProperty("gate.threshold", "0.1"));
+        double slack = Double.parseDouble(System.getProperty("gate.slack", "64"));
+        boolean update = Boolean.parseBoolean(System.getProperty("gate.update", "false"));
+        String include = System.getProperty("gate.include", "indi\\.mofan\\.benchmark\\..*");
+        String exclude = System.getProperty("gate.exclude", ".*([pP]arallel|Factorial|Startup).*");
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .exclude(exclude)
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.milliseconds(500))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(500));
+        Map<String, Double> actual = allocations(new Runner(options.build()).run());
+
+        if (update || Files.notExists(baseline)) {
+            store(baseline, actual);
+            System.out.println("已写入分配基准 " + baseline.toAbsolutePath());
+            return;
+        }
+
+        Map<String, Double> expected = load(baseline);
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-64s %14s %14s%n", "benchmark", "baseline B/op", "actual B/op");
+        actual.forEach((name, bytes) -> {
+            Double base = expected.get(name);
+            String mark = "";
+            if (base == null) {
+                mark = "  (新增，未检查)";
+            } else if (bytes > base * (1 + threshold) + slack) {
+                mark = "  <-- 回归";
+                regressions.add(name);
+            }
+            System.out.printf(Locale.ROOT, "%-64s %14s %14.1f%s%n", name, base == null ? "-" : String.format(Locale.ROOT, "%.1f", base), bytes, mark);
+        });
+        List<String> missing = missing(expected.keySet(), actual.keySet(), Pattern.compile(include), Pattern.compile(exclude));
+        if (!regressions.isEmpty()) {
+            System.err.println("以下基准测试每次调用分配的字节数超出基准 " + (int) (threshold * 100) + "% + " + slack + "B：");
+            regressions.forEach(i -> System.err.println("  " + i));
+        }
+        if (!missing.isEmpty()) {
+            System.err.println("以下基准测试在基准文件中，但本次没有运行（已改名或删除时请更新基准文件）：");
+            missing.forEach(i -> System.err.println("  " + i));
+        }
+        if (!regressions.isEmpty() || !missing.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 每个基准测试（包含参数）每次调用分配的字节数
+     */
+    static Map<String, Double> allocations(Collection<RunResult> results) {
+        Map<String, Double> allocations = new TreeMap<>();
+        for (RunResult result : results) {
+            Result<?> norm = result.getSecondaryResults().get(ALLOC_RATE_NORM);
+            if (norm != null) {
+                allocations.put(label(result.getParams()), norm.getScore());
+            }
+        }
+        return allocations;
+    }
+
+    /**
+     * 如 {@code PrimesBenchmark.mathUtilsPrimes:avgt,n=100}。同一个方法可以有多种模式，不同模式的分配量不同，
+     * 因此标签中包含模式
+     */
+    static String label(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        StringBuilder label = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        label.append(':').append(params.getMode().shortLabel());
+        for (String key : params.getParamsKeys()) {
+            label.append(',').append(key).append('=').append(params.getParam(key));
+        }
+        return label.toString();
+    }
+
+    /**
+     * 基准文件中被 include、exclude 覆盖，但本次没有结果的条目
+     */
+    static List<String> missing(Collection<String> expected, Collection<String> actual, Pattern include, Pattern exclude) {
+        String packagePrefix = AllocationGate.class.getPackageName() + ".";
+        List<String> missing = new ArrayList<>();
+        for (String name : expected) {
+            // 与 JMH 一样，用 find 匹配完整的方法名
+            int end = name.indexOf(':');
+            String benchmark = packagePrefix + (end < 0 ? name : name.substring(0, end));
+            if (!actual.contains(name) && include.matcher(benchmark).find() && !exclude.matcher(benchmark).find()) {
+                missing.add(name);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * 基准文件每行为「基准测试 字节数」，# 开头的行为注释
+     */
+    private static Map<String, Double> load(Path path) throws IOException {
+        Map<String, Double> result = new TreeMap<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("基准文件格式错误：" + line);
+            }
+            result.put(parts[0], Double.parseDouble(parts[1]));
+        }
+        return result;
+    }
+
+    private static void store(Path path, Map<String, Double> allocations) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        // 按名称排序写出，便于比较不同版本的差异
+        List<String> lines = new ArrayList<>();
+        lines.add("# 每次调用分配的字节数（gc.alloc.rate.norm），由 AllocationGate 生成");
+        allocations.forEach((name, bytes) -> lines.add(String.format(Locale.ROOT, "%-64s %.1f", name, bytes)));
+        Files.write(path, lines, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.curry.Curry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 柯里化函数的部分应用：第一个参数只有 8 种取值，部分应用的结果传给不能内联的方法（如同传给 Stream），
+ * 无法被逃逸分析消除。参数都保存为 int 且不在 Integer 的缓存范围内，装箱的版本每次调用都要装箱
+ *
+ * @author mofan
+ * @date 2026/10/20 22:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurryBenchmark {
+
+    private final int[] prefixes = new int[8];
+    private final int[] values = new int[1000];
+
+    private final Function<Integer, Function<Integer, Integer>> plain = Curry.curry((Integer a, Integer b) -> a * 31 + b);
+    private final Function<Integer, Function<Integer, Integer>> cached = Curry.curry((Integer a, Integer b) -> a * 31 + b, 16);
+    private final IntFunction<IntUnaryOperator> primitive = Curry.curryInt((a, b) -> a * 31 + b);
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = i * 1000;
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i + 1000;
+        }
+    }
+
+    @Benchmark
+    public long plain() {
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += applyTo(plain.apply(prefixes[i & 7]), values[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * 缓存部分应用，不再创建闭包，但参数（包括缓存的键）与结果依然装箱
+     */
+    @Benchmark
+    public long cached() {
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += applyTo(cached.apply(prefixes[i & 7]), values[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * 不装箱，但每次部分应用仍会创建闭包
+     */
+    @Benchmark
+    public long primitive() {
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += applyTo(primitive.apply(prefixes[i & 7]), values[i]);
+        }
+        return sum;
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static int applyTo(Function<Integer, Integer> function, Integer value) {
+        return function.apply(value);
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static int applyTo(IntUnaryOperator operator, int value) {
+        return operator.applyAsInt(value);
+    }
+}
@@ -0,0 +1,83 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.middle.HigherOrderFunctionFactory;
+import indi.mofan.middle.HigherOrderFunctionFactory.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HigherOrderFunctionFactory} 的几种分发方式：逐个查 Map、逐个 switch、批量处理
+ *
+ * @author mofan
+ * @date 2026/10/20 11:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"1000"})
+    int size;
+
+    @Param({"ONE", "THREE"})
+    Type type;
+
+    private final HigherOrderFunctionFactory factory = new HigherOrderFunctionFactory();
+    private List<String> values;
+    private String[] array;
+
+    @Setup
+    public void setup() {
+        factory.init();
+        String[] source = new String[size];
+        for (int i = 0; i < size; i++) {
+            source[i] = "  Value-" + i + "  ";
+        }
+        values = List.of(source);
+        array = source;
+    }
+
+    @Benchmark
+    public String[] executeEach() {
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = factory.execute(type, values.get(i));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String[] runEach() {
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = HigherOrderFunctionFactory.run(type).apply(values.get(i));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> executeAllList() {
+        return factory.executeAll(type, values);
+    }
+
+    @Benchmark
+    public String[] executeAllArray() {
+        return factory.executeAll(type, Arrays.copyOf(array, size));
+    }
+}
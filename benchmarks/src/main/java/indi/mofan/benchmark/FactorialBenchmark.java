@@ -0,0 +1,44 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.apply.factorial.Factorials;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大数阶乘：质数摆动与乘积树，单次执行耗时较长，使用 SingleShotTime
+ *
+ * @author mofan
+ * @date 2026/10/20 17:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FactorialBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int n;
+
+    @Benchmark
+    public BigInteger primeSwing() {
+        return Factorials.factorial(n);
+    }
+
+    @Benchmark
+    public BigInteger productTree() {
+        return Factorials.factorialBySplitting(n);
+    }
+}
@@ -0,0 +1,83 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.simple.file.FileProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 逐行读取文件：BufferedReader 为每一行创建 String，{@link FileProcessor#lines(Path)} 复用同一个 CharSequence
+ *
+ * @author mofan
+ * @date 2026/10/20 19:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileLinesBenchmark {
+
+    @Param({"100000"})
+    int lines;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("file-lines", ".txt");
+        try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write("trader" + (i % 37) + ",城市" + (i % 5) + "," + (2000 + i % 20) + "," + i);
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long bufferedReader() throws IOException {
+        long length = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                length += line.length();
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    public long filesLines() throws IOException {
+        try (Stream<String> stream = Files.lines(file, StandardCharsets.UTF_8)) {
+            return stream.mapToLong(String::length).sum();
+        }
+    }
+
+    @Benchmark
+    public long mappedCharSequenceLines() throws IOException {
+        return FileProcessor.processLines(file, stream -> stream.mapToLong(CharSequence::length).sum());
+    }
+}
@@ -0,0 +1,124 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.simple.log.AsyncAppender;
+import indi.mofan.simple.log.Level;
+import indi.mofan.simple.log.Logger;
+import indi.mofan.simple.log.StreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志门面与 {@code System.out.println} 的吞吐量和延迟对比。
+ * <p>
+ * 为了不让 JMH 收集大量输出，System.out 被替换为与 JDK 相同构造方式（8K 缓冲、自动刷新）的 PrintStream，
+ * 写入 /dev/null，依然会产生真实的 write 系统调用。异步输出在稳态下受写线程的速度限制，
+ * 可以通过 {@code -t} 指定多个线程观察竞争下的差异。
+ *
+ * @author mofan
+ * @date 2026/10/20 18:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private String a = "A";
+    private String b = "B";
+    private String c = "C";
+
+    private PrintStream originalOut;
+    private PrintStream out;
+    private Logger disabled;
+    private Logger sync;
+    private AsyncAppender asyncAppender;
+    private Logger async;
+
+    @Setup
+    public void setup() throws FileNotFoundException {
+        originalOut = System.out;
+        out = new PrintStream(new BufferedOutputStream(sink(), 8192), true, StandardCharsets.UTF_8);
+        System.setOut(out);
+        disabled = Logger.of(LoggingBenchmark.class, Level.INFO, StreamAppender.stdout());
+        sync = Logger.of(LoggingBenchmark.class, Level.INFO, StreamAppender.stdout());
+        asyncAppender = new AsyncAppender(new StreamAppender(sink(), false));
+        async = Logger.of(LoggingBenchmark.class, Level.INFO, asyncAppender);
+    }
+
+    private static OutputStream sink() throws FileNotFoundException {
+        Path devNull = Path.of("/dev/null");
+        return Files.isWritable(devNull) ? new FileOutputStream(devNull.toFile()) : OutputStream.nullOutputStream();
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncAppender.close();
+        System.setOut(originalOut);
+        out.close();
+    }
+
+    /**
+     * 与 SimpleTest.log(int, String) 相同，级别开启时同步打印
+     */
+    @Benchmark
+    public void println() {
+        System.out.println(a + b + c);
+    }
+
+    @Benchmark
+    public void syncEnabled() {
+        sync.log(Level.INFO, "{}{}", a, b);
+    }
+
+    @Benchmark
+    public void asyncEnabled() {
+        async.log(Level.INFO, "{}{}", a, b);
+    }
+
+    /**
+     * 级别未开启，但依然会拼接字符串
+     */
+    @Benchmark
+    public void disabledConcat() {
+        disabled.log(Level.DEBUG, a + b + c);
+    }
+
+    /**
+     * 级别未开启，但每次调用都会创建捕获 a、b、c 的 Lambda
+     */
+    @Benchmark
+    public void disabledSupplier() {
+        disabled.log(Level.DEBUG, () -> a + b + c);
+    }
+
+    @Benchmark
+    public void disabledParameterized() {
+        disabled.log(Level.DEBUG, "{}{}", a, b);
+    }
+
+    @Benchmark
+    public void disabledVarargs() {
+        disabled.log(Level.DEBUG, "{}{}{}", a, b, c);
+    }
+}
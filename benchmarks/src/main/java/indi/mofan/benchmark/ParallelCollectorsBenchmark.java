@@ -0,0 +1,101 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.collector.ConcurrentCollectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 在不同并行度下对比 {@link ConcurrentCollectors} 与 {@link Collectors}。
+ * <p>
+ * 并行流在哪个 ForkJoinPool 中提交就使用哪个池的并行度，并行度超过 CPU 核数时结果没有意义。
+ *
+ * @author mofan
+ * @date 2026/10/22 10:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelCollectorsBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int parallelism;
+
+    private List<Integer> data;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        data = IntStream.range(0, 5_000_000).boxed().toList();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private <T> T run(Supplier<T> supplier) {
+        return pool.submit(supplier::get).join();
+    }
+
+    @Benchmark
+    public Object collectorsToList() {
+        return run(() -> data.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public Object concurrentToList() {
+        return run(() -> data.parallelStream().collect(ConcurrentCollectors.toList()));
+    }
+
+    @Benchmark
+    public Object collectorsGroupingBy() {
+        return run(() -> data.parallelStream().collect(Collectors.groupingBy(i -> i % 100)));
+    }
+
+    @Benchmark
+    public Object concurrentGroupingBy() {
+        return run(() -> data.parallelStream().collect(ConcurrentCollectors.groupingBy(i -> i % 100)));
+    }
+
+    @Benchmark
+    public Object collectorsCounting() {
+        return run(() -> data.parallelStream().collect(Collectors.groupingBy(i -> i % 100, Collectors.counting())));
+    }
+
+    @Benchmark
+    public Object concurrentCountingBy() {
+        return run(() -> data.parallelStream().collect(ConcurrentCollectors.countingBy(i -> i % 100)));
+    }
+
+    @Benchmark
+    public Object sortedLimit() {
+        return run(() -> data.parallelStream().sorted(Comparator.reverseOrder()).limit(10).toList());
+    }
+
+    @Benchmark
+    public Object concurrentTopK() {
+        return run(() -> data.parallelStream().collect(ConcurrentCollectors.topK(10, Comparator.naturalOrder())));
+    }
+}
@@ -0,0 +1,76 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.apply.prime.MathUtils;
+import indi.mofan.apply.prime.delay.LazyList;
+import indi.mofan.apply.prime.delay.MyList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 求前 n 个质数：Stream 试除与惰性链表筛法
+ *
+ * @author mofan
+ * @date 2026/10/20 11:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimesBenchmark {
+
+    @Param({"100", "500"})
+    int n;
+
+    @Benchmark
+    public List<Integer> mathUtilsPrimes() {
+        return MathUtils.primes(n).toList();
+    }
+
+    /**
+     * 依次判断 [2, n] 中的每个数是否为质数
+     */
+    @Benchmark
+    public int mathUtilsIsPrime() {
+        int count = 0;
+        for (int i = 2; i <= n; i++) {
+            if (MathUtils.isPrime(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 惰性链表过滤出前 n 个偶数
+     */
+    @Benchmark
+    public int lazyListFilter() {
+        MyList<Integer> evens = LazyList.from(1).filter(i -> i % 2 == 0);
+        for (int i = 1; i < n; i++) {
+            evens = evens.tail();
+        }
+        return evens.head();
+    }
+
+    @Benchmark
+    public int lazyListPrimes() {
+        MyList<Integer> primes = LazyList.primes(LazyList.from(2));
+        for (int i = 1; i < n; i++) {
+            primes = primes.tail();
+        }
+        return primes.head();
+    }
+}
@@ -0,0 +1,48 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.MyMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在 [1, end] 中生成全部勾股数
+ *
+ * @author mofan
+ * @date 2026/10/20 11:45
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PythagoreanTripleBenchmark {
+
+    @Param({"300", "1000"})
+    int end;
+
+    @Benchmark
+    public long intStream() {
+        return MyMethod.getPythagoreanTripleIntStream(1, end, Integer.MAX_VALUE).count();
+    }
+
+    @Benchmark
+    public long doubleStream() {
+        return MyMethod.getPythagoreanTripleDoubleStream(1, end, Integer.MAX_VALUE).count();
+    }
+
+    @Benchmark
+    public long parallelStream() {
+        return MyMethod.getPythagoreanTripleParallelStream(1, end, Integer.MAX_VALUE).count();
+    }
+}
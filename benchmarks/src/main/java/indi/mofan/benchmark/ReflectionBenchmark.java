@@ -0,0 +1,46 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.lambda.SFunction;
+import indi.mofan.serial.Student;
+import indi.mofan.util.LambdaUtil;
+import indi.mofan.util.ReflectionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.SerializedLambda;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过方法引用获取字段名。getFieldName 命中缓存，getSerializedLambda 每次都会反射调用 writeReplace
+ *
+ * @author mofan
+ * @date 2026/10/20 11:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionBenchmark {
+
+    private final SFunction<Student, String> getter = Student::getName;
+
+    @Benchmark
+    public String getFieldName() {
+        return ReflectionUtil.getFieldName(getter);
+    }
+
+    @Benchmark
+    public Optional<SerializedLambda> getSerializedLambda() throws Exception {
+        return LambdaUtil.getSerializedLambda(getter);
+    }
+}
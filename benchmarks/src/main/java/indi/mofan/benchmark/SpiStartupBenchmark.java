@@ -0,0 +1,73 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.spi.RunnerRegistry;
+import indi.mofan.spi.index.ProviderIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 冷启动时加载并实例化所有 Runnable 提供者的耗时：scan 只通过 ServiceLoader 扫描服务文件，
+ * load 优先使用编译期生成的索引。
+ * <p>
+ * 每次调用前都创建新的类加载器，父加载器为平台类加载器，保证项目中的类都被重新加载。
+ * 单次运行的分配量主要来自类加载，不参与分配回归检查。
+ *
+ * @author mofan
+ * @date 2026/10/21 10:00
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(3)
+public class SpiStartupBenchmark {
+
+    @Param({"scan", "load"})
+    String method;
+
+    private URL[] urls;
+    private URLClassLoader loader;
+
+    @Setup(Level.Trial)
+    public void locate() {
+        URL registry = RunnerRegistry.class.getProtectionDomain().getCodeSource().getLocation();
+        URL index = ProviderIndex.class.getProtectionDomain().getCodeSource().getLocation();
+        // 打包为 benchmarks.jar 后两者位于同一个 jar 中
+        urls = registry.equals(index) ? new URL[]{registry} : new URL[]{registry, index};
+    }
+
+    @Setup(Level.Invocation)
+    public void newLoader() {
+        loader = new URLClassLoader(urls, ClassLoader.getPlatformClassLoader());
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeLoader() throws IOException {
+        loader.close();
+    }
+
+    @Benchmark
+    public List<?> coldStart() throws Exception {
+        Class<?> registryClass = loader.loadClass(RunnerRegistry.class.getName());
+        Object registry = registryClass.getMethod(method, ClassLoader.class).invoke(null, loader);
+        return (List<?>) registryClass.getMethod("runners").invoke(registry);
+    }
+}
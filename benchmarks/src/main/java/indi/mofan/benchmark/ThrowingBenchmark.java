@@ -0,0 +1,148 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.simple.SimpleTest;
+import indi.mofan.simple.throwing.Throwing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * 受检异常适配器的开销：不抛出异常时与直接调用对比，抛出异常时对比三种处理方式。
+ * <p>
+ * 失败路径使用预先创建的异常，只测量适配器本身创建包装异常的开销。
+ *
+ * @author mofan
+ * @date 2026/10/20 20:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThrowingBenchmark {
+
+    private static final IOException FAILURE = new IOException("失败");
+
+    private final String[] values = new String[1000];
+    private final ToIntFunction<String> adapter = Throwing.WRAP.toIntFunction(ThrowingBenchmark::parse);
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = String.valueOf(i);
+        }
+    }
+
+    private static int parse(String value) throws IOException {
+        if (value.isEmpty()) {
+            throw FAILURE;
+        }
+        return value.length();
+    }
+
+    private static int hash(String value) throws IOException {
+        if (value.isEmpty()) {
+            throw FAILURE;
+        }
+        return value.hashCode();
+    }
+
+    @Benchmark
+    public int direct() {
+        int sum = 0;
+        for (String value : values) {
+            try {
+                sum += parse(value);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int throwingAdapter() {
+        int sum = 0;
+        for (String value : values) {
+            sum += adapter.applyAsInt(value);
+        }
+        return sum;
+    }
+
+    /**
+     * 每次都获取适配器，命中缓存时不创建对象
+     */
+    @Benchmark
+    public int throwingAdapterPerCall() {
+        int sum = 0;
+        for (String value : values) {
+            sum += Throwing.WRAP.toIntFunction(ThrowingBenchmark::parse).applyAsInt(value);
+        }
+        return sum;
+    }
+
+    /**
+     * 交替获取两个方法引用的适配器，命中缓存时同样不创建对象
+     */
+    @Benchmark
+    public int throwingAdapterAlternating() {
+        int sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            ToIntFunction<String> function = (i & 1) == 0
+                    ? Throwing.WRAP.toIntFunction(ThrowingBenchmark::parse)
+                    : Throwing.WRAP.toIntFunction(ThrowingBenchmark::hash);
+            sum += function.applyAsInt(values[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * SimpleTest.wrap 每次创建新的 Lambda，并且返回值需要装箱。这里全部内联后会被逃逸分析消除，
+     * 调用处无法内联（如传给 Stream）时才会真正分配
+     */
+    @Benchmark
+    public int simpleTestWrap() {
+        int sum = 0;
+        for (String value : values) {
+            Function<String, Integer> function = SimpleTest.wrap(ThrowingBenchmark::parse);
+            sum += function.apply(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object failureWrap() {
+        return fail(Throwing.WRAP.toIntFunction(ThrowingBenchmark::parse));
+    }
+
+    @Benchmark
+    public Object failureStackless() {
+        return fail(Throwing.STACKLESS.toIntFunction(ThrowingBenchmark::parse));
+    }
+
+    @Benchmark
+    public Object failureSneaky() {
+        return fail(Throwing.SNEAKY.toIntFunction(ThrowingBenchmark::parse));
+    }
+
+    private static Object fail(ToIntFunction<String> function) {
+        try {
+            return function.applyAsInt("");
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
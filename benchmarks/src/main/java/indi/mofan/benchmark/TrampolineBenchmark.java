@@ -0,0 +1,67 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.apply.trampoline.SelfApplicable;
+import indi.mofan.apply.trampoline.Trampoline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 浅层递归时蹦床与直接递归的开销对比，计算 1 + 2 + ... + n
+ *
+ * @author mofan
+ * @date 2026/10/20 16:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrampolineBenchmark {
+
+    @Param({"10", "100", "1000"})
+    long n;
+
+    private static final SelfApplicable<Long, Long> SUM = (self, n) -> n == 0
+            ? Trampoline.done(0L)
+            : self.call(n - 1).map(r -> r + n);
+
+    private static long recursiveSum(long n) {
+        return n == 0 ? 0 : n + recursiveSum(n - 1);
+    }
+
+    private static Trampoline<Long> trampolineSum(long n, long acc) {
+        return n == 0 ? Trampoline.done(acc) : Trampoline.more(() -> trampolineSum(n - 1, acc + n));
+    }
+
+    @Benchmark
+    public long recursion() {
+        return recursiveSum(n);
+    }
+
+    /**
+     * 尾递归，只用到 more
+     */
+    @Benchmark
+    public long trampolineTailCall() {
+        return trampolineSum(n, 0).run();
+    }
+
+    /**
+     * 非尾递归，每一层都需要 flatMap
+     */
+    @Benchmark
+    public long trampolineSelfApplicable() {
+        return SUM.run(n);
+    }
+}
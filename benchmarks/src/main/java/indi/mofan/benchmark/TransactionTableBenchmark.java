@@ -0,0 +1,109 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.column.TransactionTable;
+import indi.mofan.domain.Trader;
+import indi.mofan.domain.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 列式存储的 {@link TransactionTable} 与对象列表上的 Stream 对比，数据量较大，需要较大的堆
+ *
+ * @author mofan
+ * @date 2026/10/22 10:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionTableBenchmark {
+
+    @Param({"10000000"})
+    int rows;
+
+    private List<Transaction> list;
+    private TransactionTable table;
+
+    @Setup
+    public void setup() {
+        String[] cities = {"Cambridge", "Milan", "Beijing", "Chengdu", "Paris", "London", "Tokyo", "Berlin"};
+        List<Trader> traders = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            traders.add(new Trader("trader" + i, cities[i % cities.length]));
+        }
+        Random random = new Random(42);
+        list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            list.add(new Transaction(traders.get(random.nextInt(traders.size())),
+                    2000 + random.nextInt(25), random.nextInt(10_000)));
+        }
+        table = TransactionTable.of(list);
+    }
+
+    @Benchmark
+    public Object streamSumByYear() {
+        return list.stream()
+                .collect(Collectors.groupingBy(Transaction::getYear, TreeMap::new,
+                        Collectors.summingLong(Transaction::getValue)));
+    }
+
+    @Benchmark
+    public Object tableSumByYear() {
+        return table.sumByYear();
+    }
+
+    @Benchmark
+    public Object streamSumByCity() {
+        return list.stream()
+                .collect(Collectors.groupingBy(i -> i.getTrader().getCity(),
+                        Collectors.summingLong(Transaction::getValue)));
+    }
+
+    @Benchmark
+    public Object tableSumByCity() {
+        return table.sumByCity();
+    }
+
+    @Benchmark
+    public Object streamMaxByCity() {
+        return list.stream()
+                .collect(Collectors.toMap(i -> i.getTrader().getCity(), Transaction::getValue, Math::max));
+    }
+
+    @Benchmark
+    public Object tableMaxByCity() {
+        return table.maxByCity();
+    }
+
+    @Benchmark
+    public long streamFilter() {
+        return list.stream()
+                .filter(i -> i.getYear() >= 2010 && i.getYear() <= 2015)
+                .filter(i -> "Milan".equals(i.getTrader().getCity()))
+                .mapToLong(Transaction::getValue)
+                .sum();
+    }
+
+    @Benchmark
+    public long tableFilter() {
+        return table.filterYear(2010, 2015).filterCity("Milan").sumValue();
+    }
+}
@@ -0,0 +1,63 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.pojo.TreeNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二叉树的迭代遍历与递归遍历
+ *
+ * @author mofan
+ * @date 2026/10/20 11:35
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeTraversalBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"PRE", "IN", "POST"})
+    TreeNode.TraversalType type;
+
+    private TreeNode root;
+
+    @Setup
+    public void setup() {
+        root = build(1, size);
+    }
+
+    private static TreeNode build(int from, int to) {
+        if (from > to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return new TreeNode(mid, build(from, mid - 1), build(mid + 1, to));
+    }
+
+    @Benchmark
+    public void traverse(Blackhole blackhole) {
+        TreeNode.traverse(root, type, blackhole::consume);
+    }
+
+    @Benchmark
+    public void recursiveTraversal(Blackhole blackhole) {
+        TreeNode.recursiveTraversal(root, type, blackhole::consume);
+    }
+}
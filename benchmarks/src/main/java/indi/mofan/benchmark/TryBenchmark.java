@@ -0,0 +1,109 @@
+package indi.mofan.benchmark;
+
+import indi.mofan.simple.throwing.StacklessException;
+import indi.mofan.simple.throwing.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量解析 1000 条记录，其中一部分格式错误，比较失败的不同表示方式的开销
+ *
+ * @author mofan
+ * @date 2026/10/20 21:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TryBenchmark {
+
+    /**
+     * 格式错误的记录所占的百分比
+     */
+    @Param({"1", "50"})
+    int failurePercent;
+
+    private String[] records;
+
+    @Setup
+    public void setup() {
+        records = new String[1000];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = i % 100 < failurePercent ? "bad-" + i : String.valueOf(i);
+        }
+    }
+
+    private static boolean valid(String record) {
+        return !record.startsWith("bad-");
+    }
+
+    private static int parseWithStackTrace(String record) throws IOException {
+        if (!valid(record)) {
+            throw new IOException("格式错误：" + record);
+        }
+        return Integer.parseInt(record);
+    }
+
+    private static int parseStackless(String record) throws StacklessException {
+        if (!valid(record)) {
+            throw new StacklessException("格式错误：" + record);
+        }
+        return Integer.parseInt(record);
+    }
+
+    private static Try<Integer> parseToTry(String record) {
+        return valid(record) ? Try.success(Integer.parseInt(record)) : Try.failure("格式错误：" + record);
+    }
+
+    /**
+     * 手写循环，失败时记录异常后继续
+     */
+    @Benchmark
+    public Object loop() {
+        List<Integer> successes = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        for (String record : records) {
+            try {
+                successes.add(parseWithStackTrace(record));
+            } catch (IOException e) {
+                failures.add(e);
+            }
+        }
+        return failures.size() + successes.size();
+    }
+
+    @Benchmark
+    public Object tryWithStackTrace() {
+        return Arrays.stream(records).map(Try.lift(TryBenchmark::parseWithStackTrace)).collect(Try.partitioning());
+    }
+
+    @Benchmark
+    public Object tryStackless() {
+        return Arrays.stream(records).map(Try.lift(TryBenchmark::parseStackless)).collect(Try.partitioning());
+    }
+
+    /**
+     * 不抛出异常，直接返回失败
+     */
+    @Benchmark
+    public Object tryFailureValue() {
+        return Arrays.stream(records).map(TryBenchmark::parseToTry).collect(Try.partitioning());
+    }
+}
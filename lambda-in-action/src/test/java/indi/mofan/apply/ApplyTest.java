@@ -1,14 +1,25 @@
 package indi.mofan.apply;
 
 
+import indi.mofan.apply.factorial.Factorials;
+import indi.mofan.apply.memo.Memo;
 import indi.mofan.apply.prime.Eratosthenes;
 import indi.mofan.apply.prime.MathUtils;
 import indi.mofan.apply.prime.delay.LazyList;
+import indi.mofan.apply.trampoline.SelfApplicable;
+import indi.mofan.apply.trampoline.Trampoline;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 
 /**
  * @author mofan
@@ -87,6 +98,111 @@ public class ApplyTest implements WithAssertions {
         assertThat(value).isEqualTo(120);
     }
 
+    @Test
+    public void testMemo() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Integer, BigInteger> factorial = Memo.memoize((self, n) -> {
+            calls.incrementAndGet();
+            return n == 0 ? BigInteger.ONE : BigInteger.valueOf(n).multiply(self.apply(n - 1));
+        });
+        // 不会溢出
+        assertThat(factorial.apply(20)).isEqualTo(BigInteger.valueOf(2432902008176640000L));
+        assertThat(factorial.apply(25).toString()).isEqualTo("15511210043330985984000000");
+        // 每个参数只计算一次
+        assertThat(calls).hasValue(26);
+
+        // 指数级的递归变为线性
+        LongFunction<BigInteger> fib = Memo.memoizeLong((self, n) ->
+                n < 2 ? BigInteger.valueOf(n) : self.apply(n - 1).add(self.apply(n - 2)));
+        assertThat(fib.apply(90)).isEqualTo(BigInteger.valueOf(2880067194370816120L));
+        assertThat(fib.apply(200).toString()).isEqualTo("280571172992510140037611932413038677189525");
+
+        // 有界缓存
+        AtomicInteger boundedCalls = new AtomicInteger();
+        Function<Integer, Long> bounded = Memo.memoize((self, n) -> {
+            boundedCalls.incrementAndGet();
+            return n < 2 ? (long) n : self.apply(n - 1) + self.apply(n - 2);
+        }, 8);
+        assertThat(bounded.apply(50)).isEqualTo(12586269025L);
+        assertThat(boundedCalls).hasValue(51);
+        assertThat(bounded.apply(49)).isEqualTo(7778742049L);
+        // 太早的结果已被淘汰，需要重新计算
+        bounded.apply(1);
+        bounded.apply(10);
+        assertThat(boundedCalls.get()).isGreaterThan(51);
+
+        // 并发调用
+        Function<Integer, BigInteger> shared = Memo.memoize((self, n) ->
+                n == 0 ? BigInteger.ONE : BigInteger.valueOf(n).multiply(self.apply(n - 1)));
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<BigInteger>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                int n = 500 + i % 8;
+                futures.add(executor.submit(() -> shared.apply(n)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get()).isEqualTo(factorial.apply(500 + i % 8));
+            }
+        }
+    }
+
+    static Trampoline<Long> sum(long n) {
+        return n == 0 ? Trampoline.done(0L) : Trampoline.more(() -> sum(n - 1)).map(r -> r + n);
+    }
+
+    @Test
+    public void testTrampoline() {
+        // 直接递归在这个深度下会栈溢出
+        assertThat(sum(1_000_000).run()).isEqualTo(500_000_500_000L);
+
+        SelfApplicable<Integer, BigInteger> factorial = (self, n) -> n == 0
+                ? Trampoline.done(BigInteger.ONE)
+                : self.call(n - 1).map(r -> r.multiply(BigInteger.valueOf(n)));
+        assertThat(factorial.run(5)).isEqualTo(BigInteger.valueOf(120));
+        BigInteger expected = BigInteger.ONE;
+        for (int i = 2; i <= 20_000; i++) {
+            expected = expected.multiply(BigInteger.valueOf(i));
+        }
+        assertThat(factorial.run(20_000)).isEqualTo(expected);
+
+        // 尾递归
+        SelfApplicable<long[], Long> loop = (self, state) -> state[0] == 0
+                ? Trampoline.done(state[1])
+                : self.call(new long[]{state[0] - 1, state[1] + state[0]});
+        assertThat(loop.run(new long[]{1_000_000, 0})).isEqualTo(500_000_500_000L);
+
+        // 嵌套的 flatMap
+        Trampoline<Integer> nested = Trampoline.done(1);
+        for (int i = 0; i < 100_000; i++) {
+            nested = nested.flatMap(x -> Trampoline.done(x + 1));
+        }
+        assertThat(nested.run()).isEqualTo(100_001);
+    }
+
+    @Test
+    public void testFactorials() {
+        BigInteger expected = BigInteger.ONE;
+        for (int i = 0; i <= 3000; i++) {
+            if (i > 0) {
+                expected = expected.multiply(BigInteger.valueOf(i));
+            }
+            if (i <= 100 || i % 97 == 0 || i == 3000) {
+                assertThat(Factorials.factorial(i)).as("%d!", i).isEqualTo(expected);
+            }
+        }
+        assertThat(Factorials.factorial(5)).isEqualTo(BigInteger.valueOf(Factorial.factorial(5)));
+        assertThat(Factorials.factorialBySplitting(3000)).isEqualTo(expected);
+        // 触发并行的乘积树
+        assertThat(Factorials.factorial(50_000)).isEqualTo(Factorials.factorialBySplitting(50_000));
+
+        assertThat(Factorials.binomial(5, 2)).isEqualTo(BigInteger.TEN);
+        assertThat(Factorials.binomial(10, 0)).isEqualTo(BigInteger.ONE);
+        assertThat(Factorials.binomial(10, 11)).isEqualTo(BigInteger.ZERO);
+        assertThat(Factorials.binomial(3000, 1234)).isEqualTo(Factorials.factorial(3000)
+                .divide(Factorials.factorial(1234).multiply(Factorials.factorial(1766))));
+        assertThatIllegalArgumentException().isThrownBy(() -> Factorials.factorial(-1));
+    }
+
     @Test
     public void testLazyList() {
         LazyList<Integer> list = LazyList.from(2);
@@ -96,6 +212,12 @@ public class ApplyTest implements WithAssertions {
         assertThat(three).isEqualTo(3);
         Integer four = list.tail().tail().head();
         assertThat(four).isEqualTo(4);
+
+        assertThat(LazyList.from(2).stream().limit(5)).containsExactly(2, 3, 4, 5, 6);
+        assertThat(LazyList.from(1).stream().parallel().limit(1000).mapToInt(Integer::intValue).sum())
+                .isEqualTo(1000 * 1001 / 2);
+        assertThat(LazyList.primes(LazyList.from(2)).stream().limit(10))
+                .containsExactly(2, 3, 5, 7, 11, 13, 17, 19, 23, 29);
     }
 
     @Test
@@ -0,0 +1,242 @@
+package indi.mofan.apply.factorial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 精确计算大数阶乘与组合数。
+ * <ul>
+ *     <li>乘积树：把一组因子对半分组分别求积再相乘，每次乘法两边的位数接近，能用上 BigInteger 的 Karatsuba、
+ *     Toom-Cook 算法，而不是把一个越来越大的数反复乘以一个小数</li>
+ *     <li>质数摆动（Prime Swing）：n! = ((n/2)!)² · swing(n)，swing(n) 按质因数分解直接得到，只需 O(log n)
+ *     次大数平方，大部分乘法在乘积树中完成</li>
+ *     <li>并行：因子较多时乘积树的两半在 {@link ForkJoinPool} 中并行计算，位数很大的乘法使用
+ *     {@link BigInteger#parallelMultiply}</li>
+ * </ul>
+ *
+ * @author mofan
+ * @date 2026/10/20 17:00
+ */
+public final class Factorials {
+
+    /**
+     * 因子个数超过该值时并行计算乘积树的两半
+     */
+    static final int PARALLEL_FACTORS = 1 << 10;
+
+    /**
+     * 位数超过该值的乘法使用 parallelMultiply
+     */
+    static final int PARALLEL_MULTIPLY_BITS = 1 << 20;
+
+    /**
+     * 乘积树叶子中最多包含的因子个数，叶子内顺序相乘
+     */
+    private static final int LEAF_FACTORS = 16;
+
+    private static final BigInteger[] SMALL_FACTORIALS = new BigInteger[21];
+
+    static {
+        long f = 1;
+        SMALL_FACTORIALS[0] = BigInteger.ONE;
+        for (int i = 1; i < SMALL_FACTORIALS.length; i++) {
+            f *= i;
+            SMALL_FACTORIALS[i] = BigInteger.valueOf(f);
+        }
+    }
+
+    private Factorials() {
+    }
+
+    /**
+     * 质数摆动算法计算 n!
+     */
+    public static BigInteger factorial(int n) {
+        checkNonNegative(n);
+        if (n < SMALL_FACTORIALS.length) {
+            return SMALL_FACTORIALS[n];
+        }
+        int[] primes = primes(n);
+        // n! = oddFactorial(n) * 2^(n - bitCount(n))
+        return oddFactorial(n, primes).shiftLeft(n - Integer.bitCount(n));
+    }
+
+    /**
+     * 用乘积树直接计算 1 * 2 * ... * n，作为对照
+     */
+    public static BigInteger factorialBySplitting(int n) {
+        checkNonNegative(n);
+        long[] factors = new long[Math.max(n - 1, 0)];
+        for (int i = 2; i <= n; i++) {
+            factors[i - 2] = i;
+        }
+        return product(factors, factors.length);
+    }
+
+    /**
+     * 组合数 C(n, k)，按 Legendre 公式求出每个质因数的指数后用乘积树相乘
+     */
+    public static BigInteger binomial(int n, int k) {
+        checkNonNegative(n);
+        if (k < 0 || k > n) {
+            return BigInteger.ZERO;
+        }
+        k = Math.min(k, n - k);
+        if (k == 0) {
+            return BigInteger.ONE;
+        }
+        int[] primes = primes(n);
+        long[] factors = new long[primes.length];
+        int size = 0;
+        for (int p : primes) {
+            // C(n, k) 中 p 的指数等于 k 与 n - k 在 p 进制下相加时的进位次数
+            int exponent = 0;
+            long nq = n;
+            long kq = k;
+            long rq = n - k;
+            while (nq > 0) {
+                nq /= p;
+                kq /= p;
+                rq /= p;
+                exponent += (int) (nq - kq - rq);
+            }
+            size = appendPower(factors, size, p, exponent);
+        }
+        return product(factors, size);
+    }
+
+    /**
+     * n! 去掉所有因子 2 之后的部分
+     */
+    private static BigInteger oddFactorial(int n, int[] primes) {
+        if (n < SMALL_FACTORIALS.length) {
+            BigInteger f = SMALL_FACTORIALS[n];
+            return f.shiftRight(f.getLowestSetBit());
+        }
+        BigInteger half = oddFactorial(n / 2, primes);
+        return multiply(multiply(half, half), oddSwing(n, primes));
+    }
+
+    /**
+     * swing(n) = n! / ((n/2)!)² 去掉因子 2 之后的部分，p 的指数为 Σ ⌊n / p^i⌋ mod 2
+     */
+    private static BigInteger oddSwing(int n, int[] primes) {
+        int count = upperBound(primes, n);
+        long[] factors = new long[count];
+        int size = 0;
+        // 跳过质数 2
+        for (int i = 1; i < count; i++) {
+            int p = primes[i];
+            int exponent = 0;
+            int q = n;
+            while ((q /= p) > 0) {
+                exponent += q & 1;
+            }
+            size = appendPower(factors, size, p, exponent);
+        }
+        return product(factors, size);
+    }
+
+    /**
+     * 追加 p^exponent。摆动数与组合数中质因数 p 的幂都不超过 n，因此不会溢出，每个质数最多占一个位置
+     */
+    private static int appendPower(long[] factors, int size, int p, int exponent) {
+        if (exponent == 0) {
+            return size;
+        }
+        long value = p;
+        for (int i = 1; i < exponent; i++) {
+            value *= p;
+        }
+        factors[size] = value;
+        return size + 1;
+    }
+
+    private static BigInteger product(long[] factors, int size) {
+        if (size == 0) {
+            return BigInteger.ONE;
+        }
+        if (size > PARALLEL_FACTORS) {
+            return ForkJoinPool.commonPool().invoke(new ProductTask(factors, 0, size));
+        }
+        return product(factors, 0, size);
+    }
+
+    private static BigInteger product(long[] factors, int from, int to) {
+        if (to - from <= LEAF_FACTORS) {
+            BigInteger result = BigInteger.valueOf(factors[from]);
+            for (int i = from + 1; i < to; i++) {
+                result = result.multiply(BigInteger.valueOf(factors[i]));
+            }
+            return result;
+        }
+        int mid = (from + to) >>> 1;
+        return multiply(product(factors, from, mid), product(factors, mid, to));
+    }
+
+    private static BigInteger multiply(BigInteger a, BigInteger b) {
+        return a.bitLength() + b.bitLength() > PARALLEL_MULTIPLY_BITS ? a.parallelMultiply(b) : a.multiply(b);
+    }
+
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+        private final long[] factors;
+        private final int from;
+        private final int to;
+
+        ProductTask(long[] factors, int from, int to) {
+            this.factors = factors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (to - from <= PARALLEL_FACTORS) {
+                return product(factors, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ProductTask left = new ProductTask(factors, from, mid);
+            left.fork();
+            BigInteger right = new ProductTask(factors, mid, to).compute();
+            return multiply(left.join(), right);
+        }
+    }
+
+    /**
+     * 埃氏筛求不大于 n 的质数
+     */
+    static int[] primes(int n) {
+        if (n < 2) {
+            return new int[0];
+        }
+        boolean[] composite = new boolean[n + 1];
+        int[] primes = new int[n < 100 ? 25 : (int) (1.26 * n / Math.log(n)) + 1];
+        int count = 0;
+        for (int i = 2; i <= n; i++) {
+            if (composite[i]) {
+                continue;
+            }
+            primes[count++] = i;
+            for (long j = (long) i * i; j <= n; j += i) {
+                composite[(int) j] = true;
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    /**
+     * primes 中不大于 n 的个数
+     */
+    private static int upperBound(int[] primes, int n) {
+        int index = Arrays.binarySearch(primes, n);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static void checkNonNegative(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n 不能为负数");
+        }
+    }
+}
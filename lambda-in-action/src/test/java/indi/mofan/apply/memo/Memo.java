@@ -0,0 +1,246 @@
+package indi.mofan.apply.memo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * 记忆化递归函数。
+ * <p>
+ * 递归定义写成「开放递归」的形式，递归调用通过参数 self 完成，self 就是带缓存的函数本身，因此每个参数只会计算一次，
+ * 阶乘、斐波那契这类递推在线性时间内完成：
+ * <pre>{@code
+ * Function<Integer, BigInteger> fib = Memo.memoize((self, n) ->
+ *         n < 2 ? BigInteger.valueOf(n) : self.apply(n - 1).add(self.apply(n - 2)));
+ * }</pre>
+ * 缓存是线程安全的。计算在锁外进行，不使用 {@link ConcurrentHashMap#computeIfAbsent}（递归调用时会抛出
+ * {@link IllegalStateException}），多个线程同时计算同一个参数时可能重复计算，但只会保留第一个结果，
+ * 因此函数应当是无副作用的。递归深度依然受栈大小的限制。
+ *
+ * @author mofan
+ * @date 2026/10/20 15:00
+ */
+public final class Memo {
+
+    private Memo() {
+    }
+
+    /**
+     * 开放递归的定义，通过 self 进行递归调用
+     */
+    @FunctionalInterface
+    public interface Recursive<T, R> {
+        R apply(Function<T, R> self, T t);
+    }
+
+    /**
+     * 参数为 long 的开放递归定义
+     */
+    @FunctionalInterface
+    public interface LongRecursive<R> {
+        R apply(LongFunction<R> self, long n);
+    }
+
+    /**
+     * 缓存非递归函数的结果
+     */
+    public static <T, R> Function<T, R> memoize(Function<T, R> function) {
+        Objects.requireNonNull(function);
+        return memoize((self, t) -> function.apply(t));
+    }
+
+    /**
+     * 不限制缓存大小
+     */
+    public static <T, R> Function<T, R> memoize(Recursive<T, R> definition) {
+        return new Unbounded<>(definition);
+    }
+
+    /**
+     * 最多缓存 maxSize 个结果，超出后淘汰最久未使用的
+     */
+    public static <T, R> Function<T, R> memoize(Recursive<T, R> definition, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize 必须大于 0");
+        }
+        return new Bounded<>(definition, maxSize);
+    }
+
+    /**
+     * 参数为 long 的版本，缓存的键不会装箱
+     */
+    public static <R> LongFunction<R> memoizeLong(LongRecursive<R> definition) {
+        return new LongKeyed<>(definition);
+    }
+
+    private static final class Unbounded<T, R> implements Function<T, R> {
+        private final Recursive<T, R> definition;
+        private final Map<T, R> cache = new ConcurrentHashMap<>();
+
+        Unbounded(Recursive<T, R> definition) {
+            this.definition = Objects.requireNonNull(definition);
+        }
+
+        @Override
+        public R apply(T t) {
+            R cached = cache.get(t);
+            if (cached != null) {
+                return cached;
+            }
+            R value = Objects.requireNonNull(definition.apply(this, t), "记忆化的函数不能返回 null");
+            R previous = cache.putIfAbsent(t, value);
+            return previous == null ? value : previous;
+        }
+    }
+
+    private static final class Bounded<T, R> implements Function<T, R> {
+        private final Recursive<T, R> definition;
+        private final LinkedHashMap<T, R> cache;
+
+        Bounded(Recursive<T, R> definition, int maxSize) {
+            this.definition = Objects.requireNonNull(definition);
+            // 按访问顺序排列，超出容量时淘汰最久未使用的
+            this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<T, R> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        @Override
+        public R apply(T t) {
+            R cached;
+            synchronized (cache) {
+                cached = cache.get(t);
+            }
+            if (cached != null) {
+                return cached;
+            }
+            // 在锁外计算，递归调用时不会持有锁
+            R value = Objects.requireNonNull(definition.apply(this, t), "记忆化的函数不能返回 null");
+            synchronized (cache) {
+                R previous = cache.putIfAbsent(t, value);
+                return previous == null ? value : previous;
+            }
+        }
+    }
+
+    /**
+     * 开放寻址的 long 到对象的缓存，读取时使用乐观读，不需要加锁
+     */
+    private static final class LongKeyed<R> implements LongFunction<R> {
+        private final LongRecursive<R> definition;
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = new long[64];
+        /**
+         * 值为 null 的槽位为空槽
+         */
+        private Object[] values = new Object[64];
+        private int size;
+
+        LongKeyed(LongRecursive<R> definition) {
+            this.definition = Objects.requireNonNull(definition);
+        }
+
+        @Override
+        public R apply(long n) {
+            R cached = get(n);
+            if (cached != null) {
+                return cached;
+            }
+            R value = Objects.requireNonNull(definition.apply(this, n), "记忆化的函数不能返回 null");
+            return putIfAbsent(n, value);
+        }
+
+        private R get(long key) {
+            long stamp = lock.tryOptimisticRead();
+            R value = find(keys, values, key);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = find(keys, values, key);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        /**
+         * 乐观读时数组可能正在被替换，两个数组长度不一致时直接返回 null，校验失败后会加读锁重新读取
+         */
+        @SuppressWarnings("unchecked")
+        private static <R> R find(long[] keys, Object[] values, long key) {
+            int mask = keys.length - 1;
+            if (values.length != keys.length) {
+                return null;
+            }
+            int slot = mix(key) & mask;
+            for (int i = 0; i <= mask; i++) {
+                Object value = values[slot];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[slot] == key) {
+                    return (R) value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private R putIfAbsent(long key, R value) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int slot = mix(key) & mask;
+                while (values[slot] != null) {
+                    if (keys[slot] == key) {
+                        return (R) values[slot];
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size * 2 > keys.length) {
+                    resize();
+                }
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            long[] newKeys = new long[oldKeys.length * 2];
+            Object[] newValues = new Object[oldKeys.length * 2];
+            int mask = newKeys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] == null) {
+                    continue;
+                }
+                int slot = mix(oldKeys[i]) & mask;
+                while (newValues[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = oldKeys[i];
+                newValues[slot] = oldValues[i];
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -21,7 +21,7 @@ public final class MathUtils {
                 .limit(n);
     }
 
-    private static boolean isPrime(int n) {
+    public static boolean isPrime(int n) {
         int sqrt = (int) Math.sqrt(n);
         return IntStream.rangeClosed(2, sqrt)
                 .noneMatch(i -> n % i == 0);
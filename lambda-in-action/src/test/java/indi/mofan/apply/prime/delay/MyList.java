@@ -1,7 +1,14 @@
 package indi.mofan.apply.prime.delay;
 
 
+import indi.mofan.spliterator.ChunkedIteratorSpliterator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author mofan
@@ -19,4 +26,33 @@ public interface MyList<T> {
     default MyList<T> filter(Predicate<? super T> predicate) {
         return this;
     }
+
+    default Iterator<T> iterator() {
+        return new Iterator<>() {
+            private MyList<T> current = MyList.this;
+
+            @Override
+            public boolean hasNext() {
+                return !current.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (current.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                T head = current.head();
+                current = current.tail();
+                return head;
+            }
+        };
+    }
+
+    /**
+     * 大小未知，可能是无限的。并行时按指数增长的批次从链表中取出元素切分，需要配合 limit、takeWhile 等使用
+     */
+    default Stream<T> stream() {
+        Spliterator<T> spliterator = new ChunkedIteratorSpliterator<>(iterator(), Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false);
+    }
 }
@@ -0,0 +1,30 @@
+package indi.mofan.apply.trampoline;
+
+/**
+ * 返回 {@link Trampoline} 的自应用函数，通过 {@link #call} 递归，递归深度不受调用栈限制
+ * <pre>{@code
+ * SelfApplicable<Integer, BigInteger> factorial = (self, n) -> n == 0
+ *         ? Trampoline.done(BigInteger.ONE)
+ *         : self.call(n - 1).map(r -> r.multiply(BigInteger.valueOf(n)));
+ * factorial.run(100_000);
+ * }</pre>
+ *
+ * @author mofan
+ * @date 2026/10/20 16:20
+ */
+@FunctionalInterface
+public interface SelfApplicable<T, R> {
+
+    Trampoline<R> apply(SelfApplicable<T, R> self, T t);
+
+    /**
+     * 延迟的递归调用
+     */
+    default Trampoline<R> call(T t) {
+        return Trampoline.more(() -> apply(this, t));
+    }
+
+    default R run(T t) {
+        return apply(this, t).run();
+    }
+}
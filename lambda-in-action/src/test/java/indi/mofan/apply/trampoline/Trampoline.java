@@ -0,0 +1,101 @@
+package indi.mofan.apply.trampoline;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 蹦床：把递归调用变成返回「下一步要做什么」的数据，再由 {@link #run()} 在循环中逐步执行，
+ * 因此调用栈的深度不随递归深度增长。
+ * <ul>
+ *     <li>{@link #done(Object)}：已经得到结果</li>
+ *     <li>{@link #more(Supplier)}：还需要再走一步，递归调用放在 Supplier 中延迟执行</li>
+ *     <li>{@link #flatMap(Function)}：拿到结果后还要继续计算，用于非尾递归，如 {@code n * f(n - 1)}</li>
+ * </ul>
+ * <pre>{@code
+ * static Trampoline<Long> sum(long n) {
+ *     return n == 0 ? done(0L) : more(() -> sum(n - 1)).map(r -> r + n);
+ * }
+ * }</pre>
+ *
+ * @author mofan
+ * @date 2026/10/20 16:00
+ */
+public sealed interface Trampoline<T> {
+
+    static <T> Trampoline<T> done(T value) {
+        return new Done<>(value);
+    }
+
+    static <T> Trampoline<T> more(Supplier<Trampoline<T>> next) {
+        return new More<>(Objects.requireNonNull(next));
+    }
+
+    default <R> Trampoline<R> flatMap(Function<? super T, ? extends Trampoline<R>> function) {
+        return new FlatMap<>(this, Objects.requireNonNull(function));
+    }
+
+    default <R> Trampoline<R> map(Function<? super T, ? extends R> function) {
+        return new Map<>(this, Objects.requireNonNull(function));
+    }
+
+    /**
+     * 循环执行直到得到结果。map、flatMap 的后续计算保存在堆上的栈中，而不是调用栈中；
+     * 只有 more 时不会创建这个栈
+     */
+    @SuppressWarnings("unchecked")
+    default T run() {
+        Trampoline<?> current = this;
+        Deque<Trampoline<?>> continuations = null;
+        while (true) {
+            switch (current) {
+                case Done<?> done -> {
+                    Object value = done.value();
+                    // 连续的 map 直接在值上计算，不再包装成 Done
+                    while (true) {
+                        Trampoline<?> next = continuations == null ? null : continuations.pollFirst();
+                        if (next == null) {
+                            return (T) value;
+                        }
+                        if (next instanceof Map<?, ?> map) {
+                            value = ((Function<Object, Object>) map.function()).apply(value);
+                        } else {
+                            current = ((Function<Object, Trampoline<?>>) ((FlatMap<?, ?>) next).function()).apply(value);
+                            break;
+                        }
+                    }
+                }
+                case More<?> more -> current = more.next().get();
+                case Map<?, ?> map -> {
+                    continuations = push(continuations, map);
+                    current = map.source();
+                }
+                case FlatMap<?, ?> flatMap -> {
+                    continuations = push(continuations, flatMap);
+                    current = flatMap.source();
+                }
+            }
+        }
+    }
+
+    private static Deque<Trampoline<?>> push(Deque<Trampoline<?>> continuations, Trampoline<?> continuation) {
+        Deque<Trampoline<?>> deque = continuations == null ? new ArrayDeque<>() : continuations;
+        deque.push(continuation);
+        return deque;
+    }
+
+    record Done<T>(T value) implements Trampoline<T> {
+    }
+
+    record More<T>(Supplier<Trampoline<T>> next) implements Trampoline<T> {
+    }
+
+    record FlatMap<S, T>(Trampoline<S> source, Function<? super S, ? extends Trampoline<T>> function)
+            implements Trampoline<T> {
+    }
+
+    record Map<S, T>(Trampoline<S> source, Function<? super S, ? extends T> function) implements Trampoline<T> {
+    }
+}
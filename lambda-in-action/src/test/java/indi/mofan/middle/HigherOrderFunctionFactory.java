@@ -4,9 +4,14 @@ package indi.mofan.middle;
 import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * @author mofan
@@ -16,6 +21,11 @@ import java.util.function.Function;
 public class HigherOrderFunctionFactory {
     private static final Map<Type, Function<String, String>> DISPATCHER = new HashMap<>();
 
+    /**
+     * 并行批处理时，不再切分的子任务最多处理的元素个数；元素个数不超过该值时直接在当前线程处理
+     */
+    static final int PARALLEL_THRESHOLD = 8192;
+
     public enum Type {
         ONE, TWO, THREE;
     }
@@ -32,6 +42,92 @@ public class HigherOrderFunctionFactory {
         return dispatcher.apply(value);
     }
 
+    /**
+     * 批量处理，处理器只查找一次
+     */
+    public List<String> executeAll(Type type, List<String> values) {
+        Function<String, String> dispatcher = resolve(type);
+        List<String> result = new ArrayList<>(values.size());
+        for (String value : values) {
+            result.add(dispatcher.apply(value));
+        }
+        return result;
+    }
+
+    /**
+     * 批量处理，直接在原数组上替换，不产生新的容器
+     *
+     * @return 传入的数组
+     */
+    public String[] executeAll(Type type, String[] values) {
+        Function<String, String> dispatcher = resolve(type);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = dispatcher.apply(values[i]);
+        }
+        return values;
+    }
+
+    /**
+     * 批量处理，元素较多时按 {@link #PARALLEL_THRESHOLD} 切分到给定的 ForkJoinPool 中并行处理
+     *
+     * @return 传入的数组
+     */
+    public String[] executeAll(Type type, String[] values, ForkJoinPool pool) {
+        Function<String, String> dispatcher = resolve(type);
+        if (values.length <= PARALLEL_THRESHOLD) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = dispatcher.apply(values[i]);
+            }
+        } else {
+            pool.invoke(new ExecuteAction(dispatcher, values, 0, values.length));
+        }
+        return values;
+    }
+
+    /**
+     * 流式处理，处理器只查找一次，元素按需转换
+     */
+    public Stream<String> executeAll(Type type, Stream<String> values) {
+        return values.map(resolve(type));
+    }
+
+    private static Function<String, String> resolve(Type type) {
+        Function<String, String> dispatcher = DISPATCHER.get(type);
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("unsupported type: " + type);
+        }
+        return dispatcher;
+    }
+
+    private static class ExecuteAction extends RecursiveAction {
+        private final Function<String, String> dispatcher;
+        private final String[] values;
+        private final int from;
+        private final int to;
+
+        ExecuteAction(Function<String, String> dispatcher, String[] values, int from, int to) {
+            this.dispatcher = dispatcher;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    values[i] = dispatcher.apply(values[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new ExecuteAction(dispatcher, values, from, mid),
+                    new ExecuteAction(dispatcher, values, mid, to)
+            );
+        }
+    }
+
     public static Function<String, String> run(Type type) {
         switch (type) {
             case ONE -> {
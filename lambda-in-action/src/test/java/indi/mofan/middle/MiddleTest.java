@@ -7,6 +7,12 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * @author mofan
@@ -27,6 +33,86 @@ public class MiddleTest implements WithAssertions {
         assertThat(value).isEmpty();
     }
 
+    @Test
+    public void testExecuteAll() {
+        HigherOrderFunctionFactory factory = context.getBean(HigherOrderFunctionFactory.class);
+        List<String> list = factory.executeAll(HigherOrderFunctionFactory.Type.ONE, List.of("abc", "xyz"));
+        assertThat(list).containsExactly("ABC", "XYZ");
+
+        // 原地处理
+        String[] array = {" a ", "b ", " c"};
+        String[] result = factory.executeAll(HigherOrderFunctionFactory.Type.THREE, array);
+        assertThat(result).isSameAs(array).containsExactly("a", "b", "c");
+
+        // 元素足够多时会切分到 ForkJoinPool 中并行处理
+        String[] large = new String[HigherOrderFunctionFactory.PARALLEL_THRESHOLD * 4 + 1];
+        Arrays.fill(large, "XYZ");
+        factory.executeAll(HigherOrderFunctionFactory.Type.TWO, large, ForkJoinPool.commonPool());
+        assertThat(large).containsOnly("xyz");
+
+        List<String> streamed = factory.executeAll(HigherOrderFunctionFactory.Type.TWO, Stream.of("A", "B")).toList();
+        assertThat(streamed).containsExactly("a", "b");
+    }
+
+    @Test
+    public void testTransformPipeline() {
+        Function<String, String> pipeline = TransformPipeline.builder()
+                .then(HigherOrderFunctionFactory.Type.THREE)
+                .then(HigherOrderFunctionFactory.Type.ONE)
+                .build();
+        assertThat(pipeline.apply("  abc ")).isEqualTo("ABC");
+        assertThat(pipeline.apply("ABC")).isEqualTo("ABC");
+        assertThat(pipeline.apply(" straße ")).isEqualTo("STRASSE");
+        // 相同的 Type 序列会命中缓存
+        assertThat(TransformPipeline.compile(HigherOrderFunctionFactory.Type.THREE, HigherOrderFunctionFactory.Type.ONE))
+                .isSameAs(pipeline);
+
+        // 多个 trim 合并且提前，相邻的相同转换只保留一个
+        assertThat(TransformPipeline.normalize(List.of(
+                HigherOrderFunctionFactory.Type.ONE,
+                HigherOrderFunctionFactory.Type.ONE,
+                HigherOrderFunctionFactory.Type.THREE,
+                HigherOrderFunctionFactory.Type.TWO,
+                HigherOrderFunctionFactory.Type.THREE
+        ))).containsExactly(
+                HigherOrderFunctionFactory.Type.THREE,
+                HigherOrderFunctionFactory.Type.ONE,
+                HigherOrderFunctionFactory.Type.TWO
+        );
+
+        Function<String, String> lower = TransformPipeline.compile(
+                HigherOrderFunctionFactory.Type.ONE,
+                HigherOrderFunctionFactory.Type.THREE,
+                HigherOrderFunctionFactory.Type.TWO
+        );
+        assertThat(lower.apply(" Abc ")).isEqualTo("abc");
+        assertThat(TransformPipeline.builder().build().apply(" a ")).isEqualTo(" a ");
+        // 化简后相同的序列共用一个结果
+        assertThat(TransformPipeline.compile(
+                HigherOrderFunctionFactory.Type.ONE,
+                HigherOrderFunctionFactory.Type.THREE,
+                HigherOrderFunctionFactory.Type.ONE
+        )).isSameAs(pipeline);
+
+        // 缓存有上限，不同的序列过多时淘汰最久未使用的
+        Function<String, String> first = TransformPipeline.compile(alternating(100));
+        for (int i = 1; i <= TransformPipeline.MAX_CACHED; i++) {
+            TransformPipeline.compile(alternating(100 + i));
+        }
+        assertThat(TransformPipeline.compile(alternating(100))).isNotSameAs(first);
+    }
+
+    /**
+     * 长度为 size、大小写转换交替的序列
+     */
+    private static List<HigherOrderFunctionFactory.Type> alternating(int size) {
+        List<HigherOrderFunctionFactory.Type> types = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            types.add(i % 2 == 0 ? HigherOrderFunctionFactory.Type.ONE : HigherOrderFunctionFactory.Type.TWO);
+        }
+        return types;
+    }
+
     @Test
     public void testSwitchPatternMatch() {
         String value = HigherOrderFunctionFactory.run(HigherOrderFunctionFactory.Type.ONE).apply("abc");
@@ -0,0 +1,165 @@
+package indi.mofan.middle;
+
+
+import indi.mofan.apply.memo.Memo;
+import indi.mofan.middle.HigherOrderFunctionFactory.Type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * 将多个 {@link Type} 编译成一个 {@code Function<String, String>}，避免逐个调用
+ * {@link HigherOrderFunctionFactory#execute} 时产生的中间字符串。
+ * <p>
+ * 编译时会先做等价化简：
+ * <ul>
+ *     <li>trim 与大小写转换可交换，且 trim 是幂等的，因此多个 trim 会合并成一个并提前执行</li>
+ *     <li>相邻的相同大小写转换只保留一个</li>
+ *     <li>trim + 大小写转换会使用融合实现，ASCII 字符串只拷贝一次</li>
+ * </ul>
+ * 编译结果按化简后的 Type 序列缓存，等价的序列共用一个结果。大小写转换可以任意交替，化简后的序列依然是无限的，
+ * 因此最多缓存 {@value #MAX_CACHED} 个，超出后淘汰最久未使用的。
+ *
+ * @author mofan
+ * @date 2026/10/19 10:20
+ */
+public final class TransformPipeline {
+
+    static final int MAX_CACHED = 64;
+
+    private static final Function<List<Type>, Function<String, String>> CACHE =
+            Memo.memoize((self, steps) -> doCompile(steps), MAX_CACHED);
+
+    private final List<Type> types = new ArrayList<>();
+
+    private TransformPipeline() {
+    }
+
+    public static TransformPipeline builder() {
+        return new TransformPipeline();
+    }
+
+    public TransformPipeline then(Type type) {
+        if (type == null) {
+            throw new IllegalArgumentException("type is null");
+        }
+        types.add(type);
+        return this;
+    }
+
+    public Function<String, String> build() {
+        return compile(types);
+    }
+
+    public static Function<String, String> compile(Type... types) {
+        return compile(Arrays.asList(types));
+    }
+
+    public static Function<String, String> compile(List<Type> types) {
+        return CACHE.apply(normalize(types));
+    }
+
+    /**
+     * 编译化简后的 Type 序列
+     */
+    private static Function<String, String> doCompile(List<Type> steps) {
+        if (steps.isEmpty()) {
+            return Function.identity();
+        }
+        int from;
+        Function<String, String> function;
+        if (steps.size() > 1 && steps.get(0) == Type.THREE) {
+            // 融合 trim 与紧随其后的大小写转换
+            function = steps.get(1) == Type.ONE
+                    ? TransformPipeline::trimToUpperCase
+                    : TransformPipeline::trimToLowerCase;
+            from = 2;
+        } else {
+            function = HigherOrderFunctionFactory.run(steps.get(0));
+            from = 1;
+        }
+        for (int i = from; i < steps.size(); i++) {
+            function = function.andThen(HigherOrderFunctionFactory.run(steps.get(i)));
+        }
+        return function;
+    }
+
+    /**
+     * 化简 Type 序列：trim 只保留一个并放在最前面，相邻的相同大小写转换只保留一个
+     */
+    static List<Type> normalize(List<Type> types) {
+        List<Type> steps = new ArrayList<>(types.size());
+        if (types.contains(Type.THREE)) {
+            steps.add(Type.THREE);
+        }
+        Type last = null;
+        for (Type type : types) {
+            if (type == Type.THREE || type == last) {
+                continue;
+            }
+            steps.add(type);
+            last = type;
+        }
+        return steps;
+    }
+
+    static String trimToUpperCase(String value) {
+        return trimAndConvert(value, true);
+    }
+
+    static String trimToLowerCase(String value) {
+        return trimAndConvert(value, false);
+    }
+
+    private static String trimAndConvert(String value, boolean upper) {
+        int begin = 0;
+        int end = value.length();
+        while (begin < end && value.charAt(begin) <= ' ') {
+            begin++;
+        }
+        while (begin < end && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (!asciiCaseMappingSafe()) {
+            return slowPath(value, begin, end, upper);
+        }
+        char[] chars = null;
+        for (int i = begin; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return slowPath(value, begin, end, upper);
+            }
+            char converted = upper
+                    ? (c >= 'a' && c <= 'z' ? (char) (c - 32) : c)
+                    : (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c);
+            if (converted != c && chars == null) {
+                chars = new char[end - begin];
+                value.getChars(begin, i, chars, 0);
+            }
+            if (chars != null) {
+                chars[i - begin] = converted;
+            }
+        }
+        if (chars != null) {
+            return new String(chars);
+        }
+        // 不需要转换大小写，和 String#trim 一样，没有空白时返回原字符串
+        return begin == 0 && end == value.length() ? value : value.substring(begin, end);
+    }
+
+    private static String slowPath(String value, int begin, int end, boolean upper) {
+        String trimmed = value.substring(begin, end);
+        return upper ? trimmed.toUpperCase() : trimmed.toLowerCase();
+    }
+
+    /**
+     * 与 String#toUpperCase() 一致，土耳其语、阿塞拜疆语、立陶宛语的 ASCII 字母也有特殊的大小写规则
+     */
+    private static boolean asciiCaseMappingSafe() {
+        String language = Locale.getDefault().getLanguage();
+        return !"tr".equals(language) && !"az".equals(language) && !"lt".equals(language);
+    }
+}
@@ -1,23 +1,48 @@
 package indi.mofan.simple;
 
+import indi.mofan.simple.file.FileProcessor;
+import indi.mofan.simple.log.Appender;
+import indi.mofan.simple.log.AsyncAppender;
+import indi.mofan.simple.log.Level;
+import indi.mofan.simple.log.LogEvent;
+import indi.mofan.simple.log.Logger;
+import indi.mofan.simple.log.StreamAppender;
+import indi.mofan.simple.throwing.StacklessException;
+import indi.mofan.simple.throwing.Throwing;
+import indi.mofan.simple.throwing.Try;
+import indi.mofan.simple.throwing.WrappedException;
 import lombok.SneakyThrows;
 import org.assertj.core.api.WithAssertions;
 import org.assertj.core.util.CanIgnoreReturnValue;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * @author mofan
@@ -53,6 +78,169 @@ public class SimpleTest implements WithAssertions {
         log(1, () -> c + b + a);
     }
 
+    /**
+     * 记录格式化后的消息
+     */
+    private static Appender collect(List<String> messages) {
+        return event -> messages.add(event.getLevel() + " " + event.getMessage()
+                                     + (event.getThrowable() == null ? "" : " " + event.getThrowable().getMessage()));
+    }
+
+    @Test
+    public void testLogger() {
+        List<String> messages = new ArrayList<>();
+        Logger logger = Logger.of(SimpleTest.class, Level.INFO, collect(messages));
+
+        AtomicInteger calls = new AtomicInteger();
+        logger.log(Level.DEBUG, () -> "debug " + calls.incrementAndGet());
+        logger.log(Level.DEBUG, "{} {}", "A", "B");
+        // 级别未开启时不会调用 Supplier
+        assertThat(calls).hasValue(0);
+
+        logger.log(Level.INFO, () -> "info " + calls.incrementAndGet());
+        logger.log(Level.INFO, "{}{}{}", "A", "B", "C");
+        logger.log(Level.WARN, "{} + {} = {}", 1, 2);
+        // 数组需要转为 Object，否则会匹配可变参数的重载
+        logger.log(Level.WARN, "\\{} {} {}", (Object) new int[][]{{1}, {2}}, new long[]{3});
+        logger.log(Level.ERROR, "失败：{}", "A", new IllegalStateException("boom"));
+        logger.log(Level.OFF, "never");
+        assertThat(messages).containsExactly(
+                "INFO info 1",
+                "INFO ABC",
+                "WARN 1 + 2 = {}",
+                "WARN {} [[1], [2]] [3]",
+                "ERROR 失败：A boom"
+        );
+
+        messages.clear();
+        logger.setLevel(Level.OFF);
+        logger.log(Level.ERROR, "{}", "A");
+        assertThat(messages).isEmpty();
+        logger.setLevel(Level.TRACE);
+        logger.log(Level.TRACE, "{}", (Object) null);
+        assertThat(messages).containsExactly("TRACE null");
+    }
+
+    @Test
+    public void testStreamAppender() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamAppender appender = new StreamAppender(out, true)) {
+            Logger logger = Logger.of("test", Level.INFO, appender);
+            logger.log(Level.INFO, "你好，{}", "mofan");
+            logger.log(Level.ERROR, "出错了", new IllegalStateException("boom"));
+        }
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\\R");
+        assertThat(lines[0]).matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3} INFO  \\[.*] test - 你好，mofan");
+        assertThat(lines[1]).endsWith("ERROR [" + Thread.currentThread().getName() + "] test - 出错了");
+        assertThat(lines[2]).isEqualTo("java.lang.IllegalStateException: boom");
+        assertThat(lines[3]).startsWith("\tat ");
+    }
+
+    @Test
+    public void testAsyncAppender() throws Exception {
+        List<String> messages = new ArrayList<>();
+        AtomicInteger flushes = new AtomicInteger();
+        Appender delegate = new Appender() {
+            @Override
+            public void append(LogEvent event) {
+                messages.add(event.getThreadName() + ":" + event.getMessage());
+            }
+
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        // 多个线程同时记录，缓冲区远小于日志数量，每个线程内的顺序保持不变
+        int threads = 8;
+        int perThread = 10_000;
+        AsyncAppender async = new AsyncAppender(delegate, 100, AsyncAppender.WhenFull.BLOCK);
+        Logger logger = Logger.of("async", Level.INFO, async);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().name("worker-" + t).start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logger.log(Level.INFO, "{}", i);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        async.close();
+        assertThat(messages).hasSize(threads * perThread);
+        assertThat(async.getDropped()).isZero();
+        // 按批刷新
+        assertThat(flushes.get()).isPositive().isLessThan(threads * perThread);
+        for (int t = 0; t < threads; t++) {
+            String prefix = "worker-" + t + ":";
+            List<String> own = messages.stream().filter(i -> i.startsWith(prefix)).toList();
+            assertThat(own).hasSize(perThread);
+            for (int i = 0; i < perThread; i++) {
+                assertThat(own.get(i)).isEqualTo(prefix + i);
+            }
+        }
+        // 关闭后丢弃
+        logger.log(Level.INFO, "closed");
+        assertThat(async.getDropped()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAsyncAppenderDrop() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> messages = new ArrayList<>();
+        Appender blocking = event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getMessage());
+        };
+        AsyncAppender async = new AsyncAppender(blocking, 3, AsyncAppender.WhenFull.DROP);
+        Logger logger = Logger.of("drop", Level.INFO, async);
+        // 容量向上取整为 4，写线程阻塞在第一条日志上时，槽位不会被释放
+        for (int i = 0; i < 10; i++) {
+            logger.log(Level.INFO, "{}", i);
+        }
+        assertThat(async.getDropped()).isEqualTo(6);
+        release.countDown();
+        async.flush();
+        assertThat(messages).containsExactly("0", "1", "2", "3");
+        logger.log(Level.INFO, "{}", 10);
+        async.close();
+        assertThat(messages).containsExactly("0", "1", "2", "3", "10");
+    }
+
+    @Test
+    public void testAsyncAppenderError() {
+        List<String> messages = new ArrayList<>();
+        Appender failing = event -> {
+            if (event.getMessage().startsWith("boom")) {
+                throw new AssertionError(event.getMessage());
+            }
+            messages.add(event.getMessage());
+        };
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> errors.add(e));
+        try {
+            // 下游抛出 Error 后写线程继续运行，缓冲区很小，写线程终止的话记录日志的线程会一直阻塞
+            AsyncAppender async = new AsyncAppender(failing, 4, AsyncAppender.WhenFull.BLOCK);
+            Logger logger = Logger.of("error", Level.INFO, async);
+            for (int i = 0; i < 100; i++) {
+                logger.log(Level.INFO, i % 10 == 0 ? "boom-{}" : "{}", i);
+            }
+            async.close();
+            assertThat(messages).hasSize(90);
+            assertThat(errors).hasSize(10).allMatch(AssertionError.class::isInstance);
+            assertThat(async.getDropped()).isZero();
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(previous);
+        }
+    }
+
     // -------------------- 高阶函数 --------------------
 
     public int add(int a, int b, IntUnaryOperator f) {
@@ -214,6 +402,170 @@ public class SimpleTest implements WithAssertions {
         }
     }
 
+    private static int parse(String value) throws IOException {
+        if (value.isEmpty()) {
+            throw new IOException("空字符串");
+        }
+        return Integer.parseInt(value);
+    }
+
+    @Test
+    public void testThrowing() {
+        // 非捕获的方法引用与 Lambda 复用同一个适配器
+        List<ToIntFunction<String>> adapters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            adapters.add(Throwing.WRAP.toIntFunction(SimpleTest::parse));
+        }
+        assertThat(adapters.get(0)).isSameAs(adapters.get(1)).isSameAs(adapters.get(2));
+        assertThat(Throwing.STACKLESS.toIntFunction(SimpleTest::parse)).isNotSameAs(adapters.get(0));
+        String prefix = "1";
+        assertThat(Throwing.WRAP.function((String s) -> parse(prefix + s)))
+                .isNotSameAs(Throwing.WRAP.function((String s) -> parse(prefix + s)));
+
+        assertThat(Stream.of("1", "2", "3").mapToInt(Throwing.WRAP.toIntFunction(SimpleTest::parse)).sum()).isEqualTo(6);
+
+        // 三种处理受检异常的方式
+        Supplier<String> wrap = Throwing.WRAP.supplier(() -> Files.readString(Path.of("data.txt")));
+        assertThatThrownBy(wrap::get)
+                .isInstanceOf(WrappedException.class)
+                .hasCauseInstanceOf(NoSuchFileException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isNotEmpty());
+
+        Function<String, Integer> stackless = Throwing.STACKLESS.function(SimpleTest::parse);
+        assertThatThrownBy(() -> stackless.apply(""))
+                .isInstanceOf(WrappedException.class)
+                .hasMessage("java.io.IOException: 空字符串")
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty())
+                .satisfies(e -> assertThat(Throwing.unwrap(e)).isInstanceOf(IOException.class).hasMessage("空字符串"));
+
+        Predicate<String> sneaky = Throwing.SNEAKY.predicate(s -> parse(s) > 0);
+        assertThat(sneaky.test("1")).isTrue();
+        assertThatThrownBy(() -> sneaky.test("")).isExactlyInstanceOf(IOException.class);
+
+        // 运行时异常原样抛出
+        assertThatThrownBy(() -> stackless.apply("x")).isExactlyInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Throwing.WRAP.runnable(() -> {
+            throw new IllegalStateException();
+        }).run()).isExactlyInstanceOf(IllegalStateException.class);
+
+        List<String> consumed = new ArrayList<>();
+        Consumer<String> consumer = Throwing.WRAP.consumer(consumed::add);
+        consumer.accept("A");
+        assertThat(consumed).containsExactly("A");
+        assertThat(Throwing.WRAP.intFunction(i -> parse(String.valueOf(i))).apply(7)).isEqualTo(7);
+        assertThat(Throwing.WRAP.toLongFunction(SimpleTest::parse).applyAsLong("8")).isEqualTo(8L);
+        assertThat(Throwing.WRAP.toDoubleFunction(SimpleTest::parse).applyAsDouble("9")).isEqualTo(9.0);
+    }
+
+    @Test
+    public void testTry() {
+        Try<Integer> one = Try.of(() -> parse("1"));
+        Try<Integer> failed = Try.of(() -> parse(""));
+        assertThat(one).isEqualTo(Try.success(1));
+        assertThat(failed.isFailure()).isTrue();
+        assertThatThrownBy(failed::get).isInstanceOf(WrappedException.class).hasCauseInstanceOf(IOException.class);
+        assertThat(failed.orElse(-1)).isEqualTo(-1);
+
+        // map 与 flatMap 中抛出的异常转换为失败，失败不再执行后续的转换
+        AtomicInteger calls = new AtomicInteger();
+        assertThat(one.map(i -> i + 1).flatMap(i -> Try.of(() -> parse("1" + i))).get()).isEqualTo(12);
+        // 运行时异常原样抛出
+        assertThatThrownBy(() -> one.map(i -> parse("x")).get()).isExactlyInstanceOf(NumberFormatException.class);
+        assertThat(failed.map(calls::addAndGet).isFailure()).isTrue();
+        assertThat(calls).hasValue(0);
+
+        // 不满足条件时的失败不记录调用栈
+        Try<Integer> negative = Try.success(-1).filter(i -> i > 0, "必须是正数");
+        assertThat(negative).isInstanceOfSatisfying(Try.Failure.class, failure -> {
+            assertThat(failure.exception()).isInstanceOf(StacklessException.class).hasMessage("必须是正数");
+            assertThat(failure.exception().getStackTrace()).isEmpty();
+        });
+        assertThat(negative.recover(e -> 0).get()).isZero();
+        assertThat(negative.recoverWith(e -> Try.of(() -> parse(""))).isFailure()).isTrue();
+        assertThat(one.recover(e -> 0).get()).isEqualTo(1);
+
+        List<Exception> errors = new ArrayList<>();
+        failed.onSuccess(i -> fail("不会执行")).onFailure(errors::add);
+        assertThat(errors).hasSize(1);
+        assertThat(failed.stream()).isEmpty();
+        assertThat(one.toOptional()).contains(1);
+    }
+
+    @Test
+    public void testTryPartitioning() {
+        // 并行处理时遇到格式错误的记录也会继续，成功与失败都保持原有顺序
+        List<String> records = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 7 == 0 ? "bad-" + i : String.valueOf(i))
+                .toList();
+        Try.Partition<List<Integer>, List<Exception>> partition = records.parallelStream()
+                .map(Try.lift(SimpleTest::parse))
+                .collect(Try.partitioning());
+        assertThat(partition.successes()).hasSize(10_000 - 1429).isSorted();
+        assertThat(partition.failures()).hasSize(1429)
+                .allSatisfy(e -> assertThat(e).isInstanceOf(NumberFormatException.class));
+        assertThat(partition.failures().get(1)).hasMessageContaining("bad-7");
+
+        Try.Partition<Integer, Long> summary = records.parallelStream()
+                .map(Try.lift(SimpleTest::parse))
+                .collect(Try.partitioning(Collectors.summingInt(i -> i), Collectors.counting()));
+        assertThat(summary.successes()).isEqualTo(IntStream.range(0, 10_000).filter(i -> i % 7 != 0).sum());
+        assertThat(summary.failures()).isEqualTo(1429L);
+
+        // 只保留成功的值
+        assertThat(Stream.of("1", "", "3").map(Try.lift(SimpleTest::parse)).flatMap(Try::stream)).containsExactly(1, 3);
+    }
+
+    @Test
+    public void testFileProcessor(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("data.txt");
+        Files.writeString(file, "第一行\r\n\nthird line\n最后一行没有换行符");
+
+        // 与 processFileWithLambda2 相同的回调
+        String firstTwo = FileProcessor.process(file, br -> br.readLine() + br.readLine());
+        assertThat(firstTwo).isEqualTo("第一行");
+
+        try (Stream<CharSequence> lines = FileProcessor.lines(file)) {
+            assertThat(lines.map(CharSequence::toString)).containsExactly("第一行", "", "third line", "最后一行没有换行符");
+        }
+        // 所有行共享同一个 CharSequence，不需要 String 时只读取字符
+        long chinese = FileProcessor.processLines(file, lines -> lines
+                .mapToLong(line -> line.chars().filter(c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN).count())
+                .sum());
+        assertThat(chinese).isEqualTo(12);
+        Path empty = Files.createFile(dir.resolve("empty.txt"));
+        long emptyCount = FileProcessor.processLines(empty, Stream::count);
+        assertThat(emptyCount).isZero();
+
+        // 很小的映射窗口与超过字符缓冲区的长行
+        Path large = dir.resolve("large.txt");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            expected.add(i % 500 == 0 ? "长".repeat(10_000) : "line-" + i + "-数据");
+        }
+        Files.write(large, expected);
+        try (Stream<CharSequence> lines = FileProcessor.lines(large, StandardCharsets.UTF_8, 40_000)) {
+            assertThat(lines.map(CharSequence::toString).toList()).isEqualTo(expected);
+        }
+        try (Stream<CharSequence> lines = FileProcessor.lines(large, StandardCharsets.UTF_8, 1024)) {
+            assertThatIllegalStateException().isThrownBy(lines::count);
+        }
+        assertThatIllegalArgumentException().isThrownBy(() -> FileProcessor.lines(large, StandardCharsets.UTF_16, 1024));
+
+        // 在虚拟线程中并发处理多个文件，结果与输入顺序一致
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Path path = dir.resolve("file-" + i + ".txt");
+            Files.writeString(path, "x\n".repeat(i));
+            files.add(path);
+        }
+        List<Long> counts = FileProcessor.processAll(files, 8, path -> FileProcessor.processLines(path, Stream::count));
+        assertThat(counts).isEqualTo(LongStream.range(0, 50).boxed().toList());
+
+        files.add(25, dir.resolve("missing.txt"));
+        assertThatThrownBy(() -> FileProcessor.processAll(files, path -> FileProcessor.processLines(path, Stream::count)))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+
     // -------------------- 柯里化 --------------------
     // 见 indi.mofan.CurryingTest.testTernaryConsumer
 
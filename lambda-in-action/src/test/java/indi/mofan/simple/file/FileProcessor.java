@@ -0,0 +1,438 @@
+package indi.mofan.simple.file;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 基于内存映射的文件处理，是 {@code SimpleTest.processFileWithLambda2} 的通用版本。
+ * <p>
+ * 文件按窗口映射（默认 {@link #WINDOW_BYTES}），读取时不经过内核到用户态缓冲区的复制：
+ * <ul>
+ *     <li>{@link #process(Path, ReaderProcessor)}：与 BufferedReaderProcessor 相同的回调，BufferedReader 直接读取映射的字节</li>
+ *     <li>{@link #lines(Path)}：按行切分的 {@code Stream<CharSequence>}，所有行共享同一个可变的 CharSequence，
+ *     不会为每一行创建 String，需要保留某一行时调用 toString</li>
+ *     <li>{@link #processAll(Collection, int, PathProcessor)}：每个文件一个虚拟线程，并发处理多个文件</li>
+ * </ul>
+ * 行以 {@code \n} 或 {@code \r\n} 结尾，字符集需要兼容 ASCII（{@code \n} 不会出现在多字节字符中），
+ * 如 UTF-8、GBK，无法解码的字节替换为 U+FFFD。
+ *
+ * @author mofan
+ * @date 2026/10/20 19:00
+ */
+public final class FileProcessor {
+
+    /**
+     * 单次映射的最大字节数，按行切分时一行的长度不能超过该值
+     */
+    public static final int WINDOW_BYTES = 64 << 20;
+
+    /**
+     * 同时处理的文件数，映射的文件会占用文件描述符和地址空间
+     */
+    public static final int DEFAULT_CONCURRENCY = 64;
+
+    private FileProcessor() {
+    }
+
+    @FunctionalInterface
+    public interface ReaderProcessor<R> {
+        R process(BufferedReader reader) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface LinesProcessor<R> {
+        R process(Stream<CharSequence> lines) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface PathProcessor<R> {
+        R process(Path path) throws IOException;
+    }
+
+    public static <R> R process(Path path, ReaderProcessor<R> processor) throws IOException {
+        return process(path, StandardCharsets.UTF_8, processor);
+    }
+
+    public static <R> R process(Path path, Charset charset, ReaderProcessor<R> processor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(new MappedInputStream(channel), charset))) {
+            return processor.process(reader);
+        }
+    }
+
+    /**
+     * 处理完成后关闭 Stream
+     */
+    public static <R> R processLines(Path path, LinesProcessor<R> processor) throws IOException {
+        try (Stream<CharSequence> lines = lines(path)) {
+            return processor.process(lines);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static Stream<CharSequence> lines(Path path) throws IOException {
+        return lines(path, StandardCharsets.UTF_8, WINDOW_BYTES);
+    }
+
+    /**
+     * 返回的 Stream 中的元素在下一次推进后失效，使用完毕后需要关闭
+     *
+     * @param windowBytes 单次映射的字节数，一行的长度不能超过该值
+     */
+    public static Stream<CharSequence> lines(Path path, Charset charset, int windowBytes) throws IOException {
+        if (!Arrays.equals("\n".getBytes(charset), new byte[]{'\n'})) {
+            throw new IllegalArgumentException("不支持与 ASCII 不兼容的字符集：" + charset);
+        }
+        if (windowBytes <= 0) {
+            throw new IllegalArgumentException("windowBytes 必须大于 0");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            LineSpliterator spliterator = new LineSpliterator(channel, channel.size(), charset, windowBytes);
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    public static <R> List<R> processAll(Collection<Path> paths, PathProcessor<R> processor) throws IOException {
+        return processAll(paths, DEFAULT_CONCURRENCY, processor);
+    }
+
+    /**
+     * 每个文件在一个虚拟线程中处理，最多同时处理 maxConcurrency 个。任意一个文件处理失败时，取消其余的任务并抛出该异常
+     *
+     * @return 与 paths 顺序一致的结果
+     */
+    public static <R> List<R> processAll(Collection<Path> paths, int maxConcurrency,
+                                         PathProcessor<R> processor) throws IOException {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency 必须大于 0");
+        }
+        Objects.requireNonNull(processor);
+        List<Path> list = List.copyOf(paths);
+        Object[] results = new Object[list.size()];
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<Void>> futures = new ArrayList<>(list.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < list.size(); i++) {
+                int index = i;
+                futures.add(completion.submit(() -> {
+                    permits.acquire();
+                    try {
+                        results[index] = processor.process(list.get(index));
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+            // 按完成顺序等待，第一个失败的任务出现时立即取消其余任务
+            for (int i = 0; i < list.size(); i++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    throw rethrow(e.getCause());
+                } catch (InterruptedException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("等待文件处理完成时被中断");
+                }
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<R> result = (List<R>) Arrays.asList(results);
+        return result;
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        if (cause instanceof IOException e) {
+            return e;
+        }
+        if (cause instanceof RuntimeException e) {
+            throw e;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new IOException(cause);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 依次映射文件的各个窗口
+     */
+    private static final class MappedInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long size;
+        private long position;
+        private ByteBuffer window = ByteBuffer.allocate(0);
+
+        MappedInputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        private boolean ensureWindow() {
+            if (window.hasRemaining()) {
+                return true;
+            }
+            if (position >= size) {
+                return false;
+            }
+            long length = Math.min(WINDOW_BYTES, size - position);
+            window = map(channel, position, length);
+            position += length;
+            return true;
+        }
+
+        @Override
+        public int read() {
+            return ensureWindow() ? window.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureWindow()) {
+                return -1;
+            }
+            int n = Math.min(len, window.remaining());
+            window.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, window.remaining() + (size - position));
+        }
+    }
+
+    /**
+     * 每个窗口都截止在某一行的末尾，窗口内的字节分批解码到 chars 中，再在 chars 中查找换行符
+     */
+    private static final class LineSpliterator implements Spliterator<CharSequence> {
+        private final FileChannel channel;
+        private final long size;
+        private final int windowBytes;
+        private final CharsetDecoder decoder;
+        private final LineView view = new LineView();
+        private long position;
+        private ByteBuffer window;
+
+        /**
+         * [start, end) 为已解码但还没有返回的字符，scan 之前没有换行符
+         */
+        private char[] chars = new char[8192];
+        private int start;
+        private int scan;
+        private int end;
+
+        LineSpliterator(FileChannel channel, long size, Charset charset, int windowBytes) {
+            this.channel = channel;
+            this.size = size;
+            this.windowBytes = windowBytes;
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CharSequence> action) {
+            while (true) {
+                for (int i = scan; i < end; i++) {
+                    if (chars[i] == '\n') {
+                        emit(start, i, action);
+                        start = scan = i + 1;
+                        return true;
+                    }
+                }
+                scan = end;
+                if (window != null) {
+                    decode();
+                } else if (position < size) {
+                    window = nextWindow();
+                } else if (start < end) {
+                    // 最后一行没有换行符
+                    emit(start, end, action);
+                    start = scan = end;
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        private void emit(int from, int to, Consumer<? super CharSequence> action) {
+            if (to > from && chars[to - 1] == '\r') {
+                to--;
+            }
+            view.set(chars, from, to - from);
+            action.accept(view);
+        }
+
+        /**
+         * 映射下一个窗口，并将其截止到最后一个换行符之后
+         */
+        private ByteBuffer nextWindow() {
+            long length = Math.min(windowBytes, size - position);
+            MappedByteBuffer mapped = map(channel, position, length);
+            int limit = (int) length;
+            if (position + length < size) {
+                while (limit > 0 && mapped.get(limit - 1) != '\n') {
+                    limit--;
+                }
+                if (limit == 0) {
+                    throw new IllegalStateException("第 " + position + " 字节处的行超过了 " + windowBytes + " 字节");
+                }
+                mapped.limit(limit);
+            }
+            position += limit;
+            return mapped;
+        }
+
+        private void decode() {
+            // 先把未返回的字符移到数组开头，剩余空间放不下一个代理对时扩容
+            if (start > 0) {
+                System.arraycopy(chars, start, chars, 0, end - start);
+                scan -= start;
+                end -= start;
+                start = 0;
+            }
+            if (chars.length - end < 2) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            CharBuffer out = CharBuffer.wrap(chars, end, chars.length - end);
+            CoderResult result = decoder.decode(window, out, true);
+            if (result.isUnderflow()) {
+                // 窗口内的字节已全部解码
+                result = decoder.flush(out);
+                if (result.isUnderflow()) {
+                    decoder.reset();
+                    window = null;
+                }
+            }
+            if (result.isError()) {
+                throwUnchecked(result);
+            }
+            end = out.position();
+        }
+
+        private static void throwUnchecked(CoderResult result) {
+            try {
+                result.throwException();
+            } catch (CharacterCodingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Spliterator<CharSequence> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    /**
+     * 指向 chars 中某一段的 CharSequence，会被复用
+     */
+    private static final class LineView implements CharSequence {
+        private char[] chars;
+        private int offset;
+        private int length;
+
+        void set(char[] chars, int offset, int length) {
+            this.chars = chars;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[offset + Objects.checkIndex(index, length)];
+        }
+
+        /**
+         * 返回复制出的 String，不会随着推进而失效
+         */
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new String(chars, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, offset, length);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package indi.mofan.simple.log;
+
+/**
+ * 日志的输出目标
+ *
+ * @author mofan
+ * @date 2026/10/20 18:00
+ */
+public interface Appender extends AutoCloseable {
+
+    /**
+     * event 只在调用期间有效，调用结束后会被复用，需要保留时应使用 {@link LogEvent#copyFrom(LogEvent)} 复制
+     */
+    void append(LogEvent event);
+
+    default void flush() {
+    }
+
+    @Override
+    default void close() {
+    }
+}
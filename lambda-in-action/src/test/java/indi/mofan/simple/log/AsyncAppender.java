@@ -0,0 +1,246 @@
+package indi.mofan.simple.log;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于环形缓冲区的异步 {@link Appender}。
+ * <p>
+ * 缓冲区中预先分配了全部 {@link LogEvent}，记录日志的线程通过 CAS 领取一个序号，将日志复制到对应的槽位后发布，
+ * 整个过程不创建对象、不加锁，格式化和 IO 都在后台的写线程中进行。写线程每次取出所有已发布的日志（最多
+ * {@link #MAX_BATCH} 条）交给下游，处理完一批后才调用一次下游的 {@link Appender#flush()}，并释放这一批槽位。
+ * <p>
+ * 缓冲区满时按 {@link WhenFull} 阻塞或丢弃。写线程是守护线程，没有调用 {@link #close()} 时，
+ * JVM 退出前未写出的日志会丢失；close 之后记录的日志会被丢弃。
+ * <p>
+ * 下游抛出的异常（包括 {@link Error}）交给写线程的 {@link Thread.UncaughtExceptionHandler}，写线程继续运行。
+ * 写线程意外终止后，后续的日志都会被丢弃并计入 {@link #getDropped()}，不会阻塞记录日志的线程。
+ *
+ * @author mofan
+ * @date 2026/10/20 18:00
+ */
+public final class AsyncAppender implements Appender {
+
+    static final int MAX_BATCH = 512;
+
+    private static final int SPIN_TRIES = 100;
+
+    /**
+     * 缓冲区满时的策略
+     */
+    public enum WhenFull {
+        /**
+         * 等待写线程释放槽位
+         */
+        BLOCK,
+        /**
+         * 丢弃这条日志
+         */
+        DROP
+    }
+
+    private final Appender delegate;
+    private final WhenFull whenFull;
+    private final LogEvent[] slots;
+    private final int mask;
+    /**
+     * 每个槽位最近一次发布的序号
+     */
+    private final AtomicLongArray published;
+    /**
+     * 下一个待领取的序号
+     */
+    private final AtomicLong claimed = new AtomicLong();
+    /**
+     * 小于该序号的槽位都已处理完，可以重新使用。只由写线程修改
+     */
+    private volatile long consumed;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+
+    public AsyncAppender(Appender delegate) {
+        this(delegate, 8192, WhenFull.BLOCK);
+    }
+
+    /**
+     * @param capacity 缓冲区大小，会向上取整为 2 的幂
+     */
+    public AsyncAppender(Appender delegate, int capacity, WhenFull whenFull) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity 必须在 (0, 2^30] 之间");
+        }
+        this.delegate = Objects.requireNonNull(delegate);
+        this.whenFull = Objects.requireNonNull(whenFull);
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new LogEvent[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LogEvent();
+        }
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.writer = Thread.ofPlatform().name("async-appender").daemon().unstarted(this::drain);
+        writer.start();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        long sequence = closed ? -1 : claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        int index = (int) sequence & mask;
+        slots[index].copyFrom(event);
+        published.set(index, sequence);
+        // 与写线程中先写 sleeping、再读 published 的顺序相对，两者至少有一方能看到对方的写入
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+        if (closed || !writer.isAlive()) {
+            checkWritten(sequence);
+        }
+    }
+
+    /**
+     * 发布前写线程可能已经退出，此时这条日志不会被写出。等写线程结束后根据 consumed 判断，没有写出的计入丢弃数
+     */
+    private void checkWritten(long sequence) {
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (consumed <= sequence) {
+            dropped.increment();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 领取一个序号，缓冲区满且策略为丢弃时返回 -1
+     */
+    private long claim() {
+        int tries = 0;
+        while (true) {
+            long sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                // 写线程已经终止时不会再释放槽位
+                if (whenFull == WhenFull.DROP || closed || !writer.isAlive()) {
+                    return -1;
+                }
+                if (++tries < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(10_000);
+                }
+                continue;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    private void drain() {
+        long next = 0;
+        while (true) {
+            int index = (int) next & mask;
+            if (published.get(index) == next) {
+                int batch = 0;
+                do {
+                    LogEvent event = slots[index];
+                    try {
+                        delegate.append(event);
+                    } catch (Throwable e) {
+                        report(e);
+                    }
+                    event.clear();
+                    next++;
+                    index = (int) next & mask;
+                } while (++batch < MAX_BATCH && published.get(index) == next);
+                try {
+                    delegate.flush();
+                } catch (Throwable e) {
+                    report(e);
+                }
+                consumed = next;
+                continue;
+            }
+            if (closed && next == claimed.get()) {
+                return;
+            }
+            sleeping = true;
+            if (published.get(index) != next && !closed) {
+                LockSupport.parkNanos(this, 100_000_000);
+            }
+            sleeping = false;
+        }
+    }
+
+    private void report(Throwable e) {
+        try {
+            writer.getUncaughtExceptionHandler().uncaughtException(writer, e);
+        } catch (Throwable ignored) {
+            // 处理器自身失败时不能让写线程终止
+        }
+    }
+
+    /**
+     * 等待调用前已记录的日志全部写出
+     */
+    @Override
+    public void flush() {
+        long target = claimed.get();
+        LockSupport.unpark(writer);
+        while (consumed < target && writer.isAlive()) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * 写出剩余的日志后关闭下游
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        delegate.close();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 因缓冲区满或已关闭而丢弃的日志数量
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,16 @@
+package indi.mofan.simple.log;
+
+/**
+ * 日志级别，按严重程度递增。{@link #OFF} 只用作 {@link Logger} 的阈值，表示关闭全部日志
+ *
+ * @author mofan
+ * @date 2026/10/20 18:00
+ */
+public enum Level {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF
+}
@@ -0,0 +1,135 @@
+package indi.mofan.simple.log;
+
+import java.util.Arrays;
+
+/**
+ * 一条日志，可变且会被复用。
+ * <p>
+ * 只保存格式串与参数，调用 {@link #formatMessage(StringBuilder)} 时才进行格式化。格式串中的 {@code {}} 依次替换为参数，
+ * {@code \{}} 表示字面量 {@code {}}；最后一个参数是 {@link Throwable} 时，它不参与替换，作为日志附带的异常。
+ *
+ * @author mofan
+ * @date 2026/10/20 18:00
+ */
+public final class LogEvent {
+
+    private long timestamp;
+    private Level level;
+    private String loggerName;
+    private String threadName;
+    private String pattern;
+    private int argCount;
+    private Object arg1;
+    private Object arg2;
+    /**
+     * 参数多于两个时使用，此时不使用 arg1、arg2
+     */
+    private Object[] args;
+    boolean inUse;
+
+    void set(long timestamp, Level level, String loggerName, String threadName,
+             String pattern, int argCount, Object arg1, Object arg2, Object[] args) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = threadName;
+        this.pattern = pattern;
+        this.argCount = argCount;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.args = args;
+        this.inUse = true;
+    }
+
+    /**
+     * 复制另一条日志的全部字段，参数只复制引用
+     */
+    public void copyFrom(LogEvent other) {
+        set(other.timestamp, other.level, other.loggerName, other.threadName,
+                other.pattern, other.argCount, other.arg1, other.arg2, other.args);
+    }
+
+    /**
+     * 释放对参数的引用
+     */
+    public void clear() {
+        set(0, null, null, null, null, 0, null, null, null);
+        inUse = false;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public Throwable getThrowable() {
+        return argCount > 0 && arg(argCount - 1) instanceof Throwable t ? t : null;
+    }
+
+    public String getMessage() {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * argCount);
+        formatMessage(builder);
+        return builder.toString();
+    }
+
+    public void formatMessage(StringBuilder builder) {
+        int count = getThrowable() == null ? argCount : argCount - 1;
+        if (count == 0) {
+            builder.append(pattern);
+            return;
+        }
+        int used = 0;
+        int from = 0;
+        int length = pattern.length();
+        while (from < length) {
+            int index = pattern.indexOf("{}", from);
+            if (index < 0) {
+                break;
+            }
+            if (index > from && pattern.charAt(index - 1) == '\\') {
+                builder.append(pattern, from, index - 1).append("{}");
+            } else if (used < count) {
+                builder.append(pattern, from, index);
+                appendArg(builder, arg(used++));
+            } else {
+                // 占位符多于参数时保留原样
+                builder.append(pattern, from, index + 2);
+            }
+            from = index + 2;
+        }
+        builder.append(pattern, from, length);
+    }
+
+    private Object arg(int index) {
+        if (args != null) {
+            return args[index];
+        }
+        return index == 0 ? arg1 : arg2;
+    }
+
+    private static void appendArg(StringBuilder builder, Object arg) {
+        try {
+            if (arg != null && arg.getClass().isArray()) {
+                // 包装一层以同时处理基本类型数组
+                String text = Arrays.deepToString(new Object[]{arg});
+                builder.append(text, 1, text.length() - 1);
+            } else {
+                builder.append(arg);
+            }
+        } catch (RuntimeException e) {
+            // 参数的 toString 失败不应影响日志本身
+            builder.append("[toString 失败：").append(e.getClass().getName()).append(']');
+        }
+    }
+}
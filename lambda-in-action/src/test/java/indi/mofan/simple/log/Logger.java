@@ -0,0 +1,108 @@
+package indi.mofan.simple.log;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 按级别过滤的日志门面。
+ * <p>
+ * 与 {@code SimpleTest.log(int, Supplier<String>)} 一样推迟消息的构造，但不需要创建捕获变量的 Lambda：
+ * <pre>{@code
+ * logger.log(Level.DEBUG, () -> a + b);      // 每次调用都会创建捕获 a、b 的 Lambda
+ * logger.log(Level.DEBUG, "{} {}", a, b);    // 不创建任何对象，级别未开启时只有一次比较
+ * }</pre>
+ * 一个、两个参数的重载不会创建可变参数数组，更多参数时使用可变参数版本；基本类型的参数依然会装箱，
+ * 热点路径上可以先用 {@link #isEnabled(Level)} 判断。
+ * <p>
+ * 每个线程复用同一个 {@link LogEvent} 交给 {@link Appender}，格式化由 Appender 完成，
+ * 因此异步输出时参数在记录之后不应再被修改。
+ *
+ * @author mofan
+ * @date 2026/10/20 18:00
+ */
+public final class Logger {
+
+    private static final ThreadLocal<LogEvent> EVENTS = ThreadLocal.withInitial(LogEvent::new);
+
+    private final String name;
+    private final Appender appender;
+    private volatile Level level;
+
+    private Logger(String name, Level level, Appender appender) {
+        this.name = Objects.requireNonNull(name);
+        this.level = Objects.requireNonNull(level);
+        this.appender = Objects.requireNonNull(appender);
+    }
+
+    public static Logger of(String name, Level level, Appender appender) {
+        return new Logger(name, level, appender);
+    }
+
+    public static Logger of(Class<?> clazz, Level level, Appender appender) {
+        return of(clazz.getName(), level, appender);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(Level level) {
+        this.level = Objects.requireNonNull(level);
+    }
+
+    public boolean isEnabled(Level level) {
+        return level != Level.OFF && level.ordinal() >= this.level.ordinal();
+    }
+
+    public void log(Level level, String message) {
+        if (isEnabled(level)) {
+            dispatch(level, message, 0, null, null, null);
+        }
+    }
+
+    /**
+     * supplier 在当前线程中调用
+     */
+    public void log(Level level, Supplier<String> supplier) {
+        if (isEnabled(level)) {
+            dispatch(level, supplier.get(), 0, null, null, null);
+        }
+    }
+
+    public void log(Level level, String pattern, Object arg) {
+        if (isEnabled(level)) {
+            dispatch(level, pattern, 1, arg, null, null);
+        }
+    }
+
+    public void log(Level level, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            dispatch(level, pattern, 2, arg1, arg2, null);
+        }
+    }
+
+    public void log(Level level, String pattern, Object... args) {
+        if (isEnabled(level)) {
+            dispatch(level, pattern, args.length, null, null, args);
+        }
+    }
+
+    private void dispatch(Level level, String pattern, int argCount, Object arg1, Object arg2, Object[] args) {
+        LogEvent event = EVENTS.get();
+        if (event.inUse) {
+            // Appender 或参数的 toString 中又记录了日志
+            event = new LogEvent();
+        }
+        event.set(System.currentTimeMillis(), level, name, Thread.currentThread().getName(),
+                pattern, argCount, arg1, arg2, args);
+        try {
+            appender.append(event);
+        } finally {
+            event.clear();
+        }
+    }
+}
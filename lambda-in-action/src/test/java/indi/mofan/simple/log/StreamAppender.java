@@ -0,0 +1,131 @@
+package indi.mofan.simple.log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 同步地将日志以 UTF-8 写入输出流，每行的格式为：
+ * <pre>
+ * 2026-10-20 18:00:00.000 INFO  [main] indi.mofan.Foo - message
+ * </pre>
+ * immediateFlush 为 false 时只在缓冲区满或调用 {@link #flush()} 时写出，适合作为 {@link AsyncAppender} 的下游，
+ * 由其按批刷新。线程安全。
+ *
+ * @author mofan
+ * @date 2026/10/20 18:00
+ */
+public final class StreamAppender implements Appender {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Writer writer;
+    private final boolean immediateFlush;
+    private final boolean ownsStream;
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+    /**
+     * 同一秒内的日志复用格式化好的时间
+     */
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedTime;
+
+    public StreamAppender(OutputStream out, boolean immediateFlush) {
+        this(out, immediateFlush, true);
+    }
+
+    private StreamAppender(OutputStream out, boolean immediateFlush, boolean ownsStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        this.immediateFlush = immediateFlush;
+        this.ownsStream = ownsStream;
+    }
+
+    /**
+     * 输出到 {@link System#out}，关闭时不会关闭 System.out
+     */
+    public static StreamAppender stdout() {
+        return new StreamAppender(System.out, true, false);
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        line.setLength(0);
+        appendTime(event.getTimestamp());
+        line.append(' ').append(event.getLevel().name());
+        for (int i = event.getLevel().name().length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(" [").append(event.getThreadName()).append("] ")
+                .append(event.getLoggerName()).append(" - ");
+        event.formatMessage(line);
+        line.append(LINE_SEPARATOR);
+        try {
+            // Writer.append(CharSequence) 会先调用 toString，这里复制到复用的 char 数组中
+            int length = line.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            line.getChars(0, length, chars, 0);
+            writer.write(chars, 0, length);
+            Throwable throwable = event.getThrowable();
+            if (throwable != null) {
+                // PrintWriter 没有自己的缓冲区，直接写入 writer
+                throwable.printStackTrace(new PrintWriter(writer));
+            }
+            if (immediateFlush) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendTime(long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTime = TIME.format(Instant.ofEpochSecond(second));
+        }
+        int millis = (int) Math.floorMod(timestamp, 1000);
+        line.append(cachedTime).append('.');
+        if (millis < 100) {
+            line.append('0');
+        }
+        if (millis < 10) {
+            line.append('0');
+        }
+        line.append(millis);
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (ownsStream) {
+                writer.close();
+            } else {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
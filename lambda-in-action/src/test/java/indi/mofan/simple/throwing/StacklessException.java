@@ -0,0 +1,21 @@
+package indi.mofan.simple.throwing;
+
+/**
+ * 不记录调用栈、不支持抑制异常的受检异常，创建开销与普通对象相当，用于表示失败频繁且不需要调用栈的错误，
+ * 如批量处理中格式错误的记录
+ *
+ * @author mofan
+ * @date 2026/10/20 21:00
+ */
+public class StacklessException extends Exception {
+
+    private static final long serialVersionUID = 4101626359426953357L;
+
+    public StacklessException(String message) {
+        super(message, null, false, false);
+    }
+
+    public StacklessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
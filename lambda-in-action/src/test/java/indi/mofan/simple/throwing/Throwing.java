@@ -0,0 +1,279 @@
+package indi.mofan.simple.throwing;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 将 Throwing 系列接口转换为 {@code java.util.function} 中的接口，是 {@code SimpleTest.wrap}、
+ * {@code wrapSupplier}、{@code sneakySupplier} 的通用版本。受检异常的处理方式有三种：
+ * <ul>
+ *     <li>{@link #WRAP}：包装为带调用栈的 {@link WrappedException}</li>
+ *     <li>{@link #STACKLESS}：包装为不记录调用栈的 {@link WrappedException}，适合失败频繁的场景</li>
+ *     <li>{@link #SNEAKY}：不包装，直接抛出原始的受检异常</li>
+ * </ul>
+ * 运行时异常总是原样抛出。
+ * <p>
+ * 不抛出异常时没有额外开销：适配器只有一个 try 块，异常处理放在单独的方法中，字节码足够小，可以内联到调用处。
+ * 非捕获的 Lambda 与方法引用（没有实例字段的 Lambda 类）的适配器按类缓存，在循环中反复调用
+ * {@code Throwing.WRAP.function(Files::readString)} 只有一次 {@link ClassValue} 查找，命中时不创建对象，也不写入共享状态，
+ * 多个调用处交替适配不同的 Lambda 时同样如此；捕获变量的 Lambda 每次创建新的适配器。
+ * <p>
+ * 所有适配共享同一个适配器类，目标函数种类很多时适配器内部的调用点会变成多态，此时能否内联取决于调用处的类型剖析。
+ *
+ * @author mofan
+ * @date 2026/10/20 20:00
+ */
+public final class Throwing {
+
+    private enum Mode {
+        WRAP, STACKLESS, SNEAKY
+    }
+
+    /**
+     * 适配器的种类，作为缓存数组的下标
+     */
+    private enum Kind {
+        FUNCTION, SUPPLIER, CONSUMER, PREDICATE, RUNNABLE, INT_FUNCTION, TO_INT, TO_LONG, TO_DOUBLE
+    }
+
+    /**
+     * 创建 WRAP 等常量时会用到，必须先于它们初始化
+     */
+    private static final int KINDS = Kind.values().length;
+
+    public static final Throwing WRAP = new Throwing(Mode.WRAP);
+    public static final Throwing STACKLESS = new Throwing(Mode.STACKLESS);
+    public static final Throwing SNEAKY = new Throwing(Mode.SNEAKY);
+
+    private final Mode mode;
+
+    /**
+     * 无状态的 Lambda 类对应的适配器，非无状态的类对应 null
+     */
+    private final ClassValue<Object[]> cache = new ClassValue<>() {
+        @Override
+        protected Object[] computeValue(Class<?> type) {
+            return isStateless(type) ? new Object[KINDS] : null;
+        }
+    };
+
+    private Throwing(Mode mode) {
+        this.mode = mode;
+    }
+
+    public <T, R> Function<T, R> function(ThrowingFunction<? super T, ? extends R, ?> function) {
+        return adapt(function, Kind.FUNCTION, FunctionAdapter::new);
+    }
+
+    public <T> Supplier<T> supplier(ThrowingSupplier<? extends T, ?> supplier) {
+        return adapt(supplier, Kind.SUPPLIER, SupplierAdapter::new);
+    }
+
+    public <T> Consumer<T> consumer(ThrowingConsumer<? super T, ?> consumer) {
+        return adapt(consumer, Kind.CONSUMER, ConsumerAdapter::new);
+    }
+
+    public <T> Predicate<T> predicate(ThrowingPredicate<? super T, ?> predicate) {
+        return adapt(predicate, Kind.PREDICATE, PredicateAdapter::new);
+    }
+
+    public Runnable runnable(ThrowingRunnable<?> runnable) {
+        return adapt(runnable, Kind.RUNNABLE, RunnableAdapter::new);
+    }
+
+    public <R> IntFunction<R> intFunction(ThrowingIntFunction<? extends R, ?> function) {
+        return adapt(function, Kind.INT_FUNCTION, IntFunctionAdapter::new);
+    }
+
+    public <T> ToIntFunction<T> toIntFunction(ThrowingToIntFunction<? super T, ?> function) {
+        return adapt(function, Kind.TO_INT, ToIntAdapter::new);
+    }
+
+    public <T> ToLongFunction<T> toLongFunction(ThrowingToLongFunction<? super T, ?> function) {
+        return adapt(function, Kind.TO_LONG, ToLongAdapter::new);
+    }
+
+    public <T> ToDoubleFunction<T> toDoubleFunction(ThrowingToDoubleFunction<? super T, ?> function) {
+        return adapt(function, Kind.TO_DOUBLE, ToDoubleAdapter::new);
+    }
+
+    /**
+     * 取出 {@link WrappedException} 中的原始异常，其他异常原样返回
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof WrappedException wrapped ? wrapped.getCause() : throwable;
+    }
+
+    @FunctionalInterface
+    private interface AdapterFactory<F, A> {
+        A create(F target, Throwing throwing);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <F, A> A adapt(F target, Kind kind, AdapterFactory<F, A> factory) {
+        Objects.requireNonNull(target);
+        Object[] adapters = cache.get(target.getClass());
+        if (adapters == null) {
+            return factory.create(target, this);
+        }
+        // 适配器只有 final 字段，并发时最多重复创建，不会看到未初始化完成的对象
+        Object adapter = adapters[kind.ordinal()];
+        if (adapter == null) {
+            adapter = factory.create(target, this);
+            adapters[kind.ordinal()] = adapter;
+        }
+        return (A) adapter;
+    }
+
+    /**
+     * Lambda 类的实例字段就是捕获的变量，没有实例字段时所有实例的行为完全相同
+     */
+    private static boolean isStateless(Class<?> type) {
+        if (!type.isSynthetic() && !type.isHidden()) {
+            return false;
+        }
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            Field[] fields = c.getDeclaredFields();
+            if (Arrays.stream(fields).anyMatch(field -> !Modifier.isStatic(field.getModifiers()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 异常路径，与正常路径分开以减小适配器的字节码
+     */
+    private RuntimeException handle(Exception e) {
+        if (e instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return switch (mode) {
+            case WRAP -> new WrappedException(e);
+            case STACKLESS -> new WrappedException(e, false);
+            case SNEAKY -> sneakyThrow(e);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneakyThrow(Throwable e) throws E {
+        throw (E) e;
+    }
+
+    private record FunctionAdapter<T, R>(ThrowingFunction<? super T, ? extends R, ?> target,
+                                         Throwing throwing) implements Function<T, R> {
+        @Override
+        public R apply(T t) {
+            try {
+                return target.apply(t);
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+
+    private record SupplierAdapter<T>(ThrowingSupplier<? extends T, ?> target,
+                                      Throwing throwing) implements Supplier<T> {
+        @Override
+        public T get() {
+            try {
+                return target.get();
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+
+    private record ConsumerAdapter<T>(ThrowingConsumer<? super T, ?> target,
+                                      Throwing throwing) implements Consumer<T> {
+        @Override
+        public void accept(T t) {
+            try {
+                target.accept(t);
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+
+    private record PredicateAdapter<T>(ThrowingPredicate<? super T, ?> target,
+                                       Throwing throwing) implements Predicate<T> {
+        @Override
+        public boolean test(T t) {
+            try {
+                return target.test(t);
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+
+    private record RunnableAdapter(ThrowingRunnable<?> target, Throwing throwing) implements Runnable {
+        @Override
+        public void run() {
+            try {
+                target.run();
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+
+    private record IntFunctionAdapter<R>(ThrowingIntFunction<? extends R, ?> target,
+                                         Throwing throwing) implements IntFunction<R> {
+        @Override
+        public R apply(int value) {
+            try {
+                return target.apply(value);
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+
+    private record ToIntAdapter<T>(ThrowingToIntFunction<? super T, ?> target,
+                                   Throwing throwing) implements ToIntFunction<T> {
+        @Override
+        public int applyAsInt(T t) {
+            try {
+                return target.applyAsInt(t);
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+
+    private record ToLongAdapter<T>(ThrowingToLongFunction<? super T, ?> target,
+                                    Throwing throwing) implements ToLongFunction<T> {
+        @Override
+        public long applyAsLong(T t) {
+            try {
+                return target.applyAsLong(t);
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+
+    private record ToDoubleAdapter<T>(ThrowingToDoubleFunction<? super T, ?> target,
+                                      Throwing throwing) implements ToDoubleFunction<T> {
+        @Override
+        public double applyAsDouble(T t) {
+            try {
+                return target.applyAsDouble(t);
+            } catch (Exception e) {
+                throw throwing.handle(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package indi.mofan.simple.throwing;
+
+/**
+ * 可以抛出受检异常的 {@link java.util.function.Consumer}
+ *
+ * @author mofan
+ * @date 2026/10/20 20:00
+ */
+@FunctionalInterface
+public interface ThrowingConsumer<T, E extends Exception> {
+    void accept(T t) throws E;
+}
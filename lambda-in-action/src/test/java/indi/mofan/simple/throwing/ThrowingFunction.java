@@ -0,0 +1,12 @@
+package indi.mofan.simple.throwing;
+
+/**
+ * 可以抛出受检异常的 {@link java.util.function.Function}
+ *
+ * @author mofan
+ * @date 2026/10/20 20:00
+ */
+@FunctionalInterface
+public interface ThrowingFunction<T, R, E extends Exception> {
+    R apply(T t) throws E;
+}
@@ -0,0 +1,12 @@
+package indi.mofan.simple.throwing;
+
+/**
+ * 可以抛出受检异常的 {@link java.util.function.Predicate}
+ *
+ * @author mofan
+ * @date 2026/10/20 20:00
+ */
+@FunctionalInterface
+public interface ThrowingPredicate<T, E extends Exception> {
+    boolean test(T t) throws E;
+}
@@ -0,0 +1,12 @@
+package indi.mofan.simple.throwing;
+
+/**
+ * 可以抛出受检异常的 {@link Runnable}
+ *
+ * @author mofan
+ * @date 2026/10/20 20:00
+ */
+@FunctionalInterface
+public interface ThrowingRunnable<E extends Exception> {
+    void run() throws E;
+}
@@ -0,0 +1,253 @@
+package indi.mofan.simple.throwing;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 计算的结果：成功时为 {@link Success}，抛出异常时为 {@link Failure}。
+ * <p>
+ * 与 {@code SimpleTest.wrap} 不同，失败不会中断整个 Stream，而是作为一个值继续向下传递，最后用
+ * {@link #partitioning()} 把成功与失败分开收集：
+ * <pre>{@code
+ * Try.Partition<List<String>, List<Exception>> result = paths.parallelStream()
+ *         .map(Try.lift(Files::readString))
+ *         .collect(Try.partitioning());
+ * }</pre>
+ * 只捕获 {@link Exception}，{@link Error} 依然会向外抛出。失败频繁时，异常的创建（填充调用栈）往往是主要开销，
+ * 可以抛出 {@link StacklessException} 或直接返回 {@link #failure(String)}。
+ *
+ * @author mofan
+ * @date 2026/10/20 21:00
+ */
+public sealed interface Try<T> {
+
+    record Success<T>(T value) implements Try<T> {
+    }
+
+    record Failure<T>(Exception exception) implements Try<T> {
+        public Failure {
+            Objects.requireNonNull(exception);
+        }
+
+        @SuppressWarnings("unchecked")
+        <R> Failure<R> cast() {
+            return (Failure<R>) this;
+        }
+    }
+
+    static <T> Try<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> Try<T> failure(Exception exception) {
+        return new Failure<>(exception);
+    }
+
+    /**
+     * 以不记录调用栈的 {@link StacklessException} 表示的失败
+     */
+    static <T> Try<T> failure(String message) {
+        return new Failure<>(new StacklessException(message));
+    }
+
+    static <T> Try<T> of(ThrowingSupplier<? extends T, ?> supplier) {
+        try {
+            return new Success<>(supplier.get());
+        } catch (Exception e) {
+            return caught(e);
+        }
+    }
+
+    /**
+     * 转换为返回 Try 的函数，用于 {@link Stream#map(Function)}
+     */
+    static <T, R> Function<T, Try<R>> lift(ThrowingFunction<? super T, ? extends R, ?> function) {
+        Objects.requireNonNull(function);
+        return t -> {
+            try {
+                return new Success<>(function.apply(t));
+            } catch (Exception e) {
+                return caught(e);
+            }
+        };
+    }
+
+    private static <T> Try<T> caught(Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        return new Failure<>(e);
+    }
+
+    default boolean isSuccess() {
+        return this instanceof Success;
+    }
+
+    default boolean isFailure() {
+        return this instanceof Failure;
+    }
+
+    /**
+     * 失败时运行时异常原样抛出，受检异常包装为 {@link WrappedException}
+     */
+    default T get() {
+        return switch (this) {
+            case Success<T> success -> success.value();
+            case Failure<T> failure -> throw failure.exception() instanceof RuntimeException e
+                    ? e : new WrappedException(failure.exception());
+        };
+    }
+
+    default T orElse(T other) {
+        return this instanceof Success<T> success ? success.value() : other;
+    }
+
+    default T orElseGet(Function<? super Exception, ? extends T> other) {
+        return switch (this) {
+            case Success<T> success -> success.value();
+            case Failure<T> failure -> other.apply(failure.exception());
+        };
+    }
+
+    default <R> Try<R> map(ThrowingFunction<? super T, ? extends R, ?> mapper) {
+        return switch (this) {
+            case Success<T> success -> {
+                try {
+                    yield new Success<>(mapper.apply(success.value()));
+                } catch (Exception e) {
+                    yield caught(e);
+                }
+            }
+            case Failure<T> failure -> failure.cast();
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    default <R> Try<R> flatMap(ThrowingFunction<? super T, ? extends Try<? extends R>, ?> mapper) {
+        return switch (this) {
+            case Success<T> success -> {
+                try {
+                    yield (Try<R>) Objects.requireNonNull(mapper.apply(success.value()));
+                } catch (Exception e) {
+                    yield caught(e);
+                }
+            }
+            case Failure<T> failure -> failure.cast();
+        };
+    }
+
+    /**
+     * 成功但不满足条件时，以 message 作为不记录调用栈的失败
+     */
+    default Try<T> filter(ThrowingPredicate<? super T, ?> predicate, String message) {
+        return flatMap(t -> predicate.test(t) ? this : failure(message));
+    }
+
+    default Try<T> recover(ThrowingFunction<? super Exception, ? extends T, ?> recovery) {
+        return switch (this) {
+            case Success<T> success -> success;
+            case Failure<T> failure -> {
+                try {
+                    yield new Success<>(recovery.apply(failure.exception()));
+                } catch (Exception e) {
+                    yield caught(e);
+                }
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    default Try<T> recoverWith(ThrowingFunction<? super Exception, ? extends Try<? extends T>, ?> recovery) {
+        return switch (this) {
+            case Success<T> success -> success;
+            case Failure<T> failure -> {
+                try {
+                    yield (Try<T>) Objects.requireNonNull(recovery.apply(failure.exception()));
+                } catch (Exception e) {
+                    yield caught(e);
+                }
+            }
+        };
+    }
+
+    default Try<T> onSuccess(Consumer<? super T> action) {
+        if (this instanceof Success<T> success) {
+            action.accept(success.value());
+        }
+        return this;
+    }
+
+    default Try<T> onFailure(Consumer<? super Exception> action) {
+        if (this instanceof Failure<T> failure) {
+            action.accept(failure.exception());
+        }
+        return this;
+    }
+
+    /**
+     * 成功且值不为 null 时返回包含该值的 Optional
+     */
+    default Optional<T> toOptional() {
+        return this instanceof Success<T> success ? Optional.ofNullable(success.value()) : Optional.empty();
+    }
+
+    /**
+     * 成功时包含一个元素，用于 {@link Stream#flatMap(Function)} 丢弃失败
+     */
+    default Stream<T> stream() {
+        return this instanceof Success<T> success ? Stream.of(success.value()) : Stream.empty();
+    }
+
+    /**
+     * 分别收集的成功的值与失败的异常
+     */
+    record Partition<S, F>(S successes, F failures) {
+    }
+
+    /**
+     * 按出现顺序将成功的值和失败的异常收集到两个 List 中
+     */
+    static <T> Collector<Try<? extends T>, ?, Partition<List<T>, List<Exception>>> partitioning() {
+        return partitioning(Collectors.toList(), Collectors.toList());
+    }
+
+    /**
+     * 成功的值交给 successes，失败的异常交给 failures，可以用于并行流
+     */
+    static <T, A1, S, A2, F> Collector<Try<? extends T>, ?, Partition<S, F>> partitioning(
+            Collector<? super T, A1, S> successes, Collector<? super Exception, A2, F> failures) {
+        Supplier<A1> successSupplier = successes.supplier();
+        Supplier<A2> failureSupplier = failures.supplier();
+        BiConsumer<A1, ? super T> successAccumulator = successes.accumulator();
+        BiConsumer<A2, ? super Exception> failureAccumulator = failures.accumulator();
+        BinaryOperator<A1> successCombiner = successes.combiner();
+        BinaryOperator<A2> failureCombiner = failures.combiner();
+        return Collector.of(
+                // 中间结果也用 Partition 保存两个收集器各自的容器
+                () -> new Partition<>(successSupplier.get(), failureSupplier.get()),
+                (Partition<A1, A2> partition, Try<? extends T> item) -> {
+                    switch (item) {
+                        case Success<? extends T> success -> successAccumulator.accept(partition.successes(), success.value());
+                        case Failure<? extends T> failure -> failureAccumulator.accept(partition.failures(), failure.exception());
+                    }
+                },
+                (left, right) -> new Partition<>(
+                        successCombiner.apply(left.successes(), right.successes()),
+                        failureCombiner.apply(left.failures(), right.failures())
+                ),
+                partition -> new Partition<>(
+                        successes.finisher().apply(partition.successes()),
+                        failures.finisher().apply(partition.failures())
+                )
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package indi.mofan.simple.throwing;
+
+/**
+ * 包装受检异常的运行时异常，原始异常通过 {@link #getCause()} 获取。
+ * <p>
+ * 不记录栈时不会调用 fillInStackTrace，创建开销与普通对象相当，适合以异常作为控制流的场景，
+ * 此时的调用栈只能从 cause 中查看。
+ *
+ * @author mofan
+ * @date 2026/10/20 20:00
+ */
+public class WrappedException extends RuntimeException {
+
+    private static final long serialVersionUID = -2185340164253170394L;
+
+    public WrappedException(Exception cause) {
+        this(cause, true);
+    }
+
+    public WrappedException(Exception cause, boolean writableStackTrace) {
+        super(null, cause, false, writableStackTrace);
+    }
+
+    /**
+     * 与 {@link RuntimeException#RuntimeException(Throwable)} 相同，但在需要时才生成
+     */
+    @Override
+    public String getMessage() {
+        return getCause().toString();
+    }
+
+    @Override
+    public synchronized Exception getCause() {
+        return (Exception) super.getCause();
+    }
+}
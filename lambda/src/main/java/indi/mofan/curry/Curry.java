@@ -0,0 +1,255 @@
+package indi.mofan.curry;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 函数的柯里化与反柯里化，支持 2 到 6 个参数。
+ * <p>
+ * 柯里化后的函数每次部分应用都会创建一个新的闭包。第一个参数经常是少数几个固定值（配置、上下文等）时，
+ * 可以使用带 maxSize 的 {@code curry} 方法，按第一个参数缓存部分应用的结果，最多缓存 maxSize 个，
+ * 超出后淘汰最久未使用的。更深层的部分应用没有缓存，需要时可以用 {@link #cached(Function, int)} 自行组合：
+ * <pre>{@code
+ * Function<A, Function<B, Function<C, R>>> curried = Curry.curry(f);
+ * Function<A, Function<B, Function<C, R>>> both = Curry.cached(a -> Curry.cached(curried.apply(a), 16), 16);
+ * }</pre>
+ * 参数是基本类型时，{@code curryInt} 等方法返回基本类型特化的柯里化函数，调用时不会装箱。
+ * 基本类型特化的版本没有缓存，不能与 {@link #cached(Function, int)} 组合（缓存的键需要装箱），每次部分应用仍会创建闭包。
+ * 第一个参数的取值范围很小时，可以预先部分应用，保存在以参数为下标的数组中。
+ *
+ * @author mofan
+ * @date 2026/10/20 22:00
+ */
+public final class Curry {
+
+    private Curry() {
+    }
+
+    public static <A, B, R> Function<A, Function<B, R>> curry(BiFunction<? super A, ? super B, ? extends R> function) {
+        Objects.requireNonNull(function);
+        return a -> b -> function.apply(a, b);
+    }
+
+    public static <A, B, C, R> Function<A, Function<B, Function<C, R>>> curry(
+            Function3<? super A, ? super B, ? super C, ? extends R> function) {
+        Objects.requireNonNull(function);
+        return a -> b -> c -> function.apply(a, b, c);
+    }
+
+    public static <A, B, C, D, R> Function<A, Function<B, Function<C, Function<D, R>>>> curry(
+            Function4<? super A, ? super B, ? super C, ? super D, ? extends R> function) {
+        Objects.requireNonNull(function);
+        return a -> b -> c -> d -> function.apply(a, b, c, d);
+    }
+
+    public static <A, B, C, D, E, R> Function<A, Function<B, Function<C, Function<D, Function<E, R>>>>> curry(
+            Function5<? super A, ? super B, ? super C, ? super D, ? super E, ? extends R> function) {
+        Objects.requireNonNull(function);
+        return a -> b -> c -> d -> e -> function.apply(a, b, c, d, e);
+    }
+
+    public static <A, B, C, D, E, F, R> Function<A, Function<B, Function<C, Function<D, Function<E, Function<F, R>>>>>> curry(
+            Function6<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? extends R> function) {
+        Objects.requireNonNull(function);
+        return a -> b -> c -> d -> e -> f -> function.apply(a, b, c, d, e, f);
+    }
+
+    /**
+     * 按第一个参数缓存部分应用的结果
+     */
+    public static <A, B, R> Function<A, Function<B, R>> curry(
+            BiFunction<? super A, ? super B, ? extends R> function, int maxSize) {
+        return cached(curry(function), maxSize);
+    }
+
+    /**
+     * 按第一个参数缓存部分应用的结果
+     */
+    public static <A, B, C, R> Function<A, Function<B, Function<C, R>>> curry(
+            Function3<? super A, ? super B, ? super C, ? extends R> function, int maxSize) {
+        return cached(curry(function), maxSize);
+    }
+
+    /**
+     * 按第一个参数缓存部分应用的结果
+     */
+    public static <A, B, C, D, R> Function<A, Function<B, Function<C, Function<D, R>>>> curry(
+            Function4<? super A, ? super B, ? super C, ? super D, ? extends R> function, int maxSize) {
+        return cached(curry(function), maxSize);
+    }
+
+    /**
+     * 按第一个参数缓存部分应用的结果
+     */
+    public static <A, B, C, D, E, R> Function<A, Function<B, Function<C, Function<D, Function<E, R>>>>> curry(
+            Function5<? super A, ? super B, ? super C, ? super D, ? super E, ? extends R> function, int maxSize) {
+        return cached(curry(function), maxSize);
+    }
+
+    /**
+     * 按第一个参数缓存部分应用的结果
+     */
+    public static <A, B, C, D, E, F, R> Function<A, Function<B, Function<C, Function<D, Function<E, Function<F, R>>>>>> curry(
+            Function6<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? extends R> function, int maxSize) {
+        return cached(curry(function), maxSize);
+    }
+
+    public static <A, B, R> BiFunction<A, B, R> uncurry2(
+            Function<? super A, ? extends Function<? super B, ? extends R>> curried) {
+        Objects.requireNonNull(curried);
+        return (a, b) -> curried.apply(a).apply(b);
+    }
+
+    public static <A, B, C, R> Function3<A, B, C, R> uncurry3(
+            Function<? super A, ? extends Function<? super B, ? extends Function<? super C, ? extends R>>> curried) {
+        Objects.requireNonNull(curried);
+        return (a, b, c) -> curried.apply(a).apply(b).apply(c);
+    }
+
+    public static <A, B, C, D, R> Function4<A, B, C, D, R> uncurry4(
+            Function<? super A, ? extends Function<? super B, ? extends Function<? super C,
+                    ? extends Function<? super D, ? extends R>>>> curried) {
+        Objects.requireNonNull(curried);
+        return (a, b, c, d) -> curried.apply(a).apply(b).apply(c).apply(d);
+    }
+
+    public static <A, B, C, D, E, R> Function5<A, B, C, D, E, R> uncurry5(
+            Function<? super A, ? extends Function<? super B, ? extends Function<? super C,
+                    ? extends Function<? super D, ? extends Function<? super E, ? extends R>>>>> curried) {
+        Objects.requireNonNull(curried);
+        return (a, b, c, d, e) -> curried.apply(a).apply(b).apply(c).apply(d).apply(e);
+    }
+
+    public static <A, B, C, D, E, F, R> Function6<A, B, C, D, E, F, R> uncurry6(
+            Function<? super A, ? extends Function<? super B, ? extends Function<? super C,
+                    ? extends Function<? super D, ? extends Function<? super E,
+                    ? extends Function<? super F, ? extends R>>>>>> curried) {
+        Objects.requireNonNull(curried);
+        return (a, b, c, d, e, f) -> curried.apply(a).apply(b).apply(c).apply(d).apply(e).apply(f);
+    }
+
+    /**
+     * 缓存 partial 的结果，最多缓存 maxSize 个，超出后淘汰最久未使用的。
+     * <p>
+     * 用于缓存部分应用：partial 返回的函数只依赖参数，相同的参数总是得到行为相同的函数，因此可以复用。
+     * 结果不能为 null，参数为 null 时不缓存。多个线程同时计算同一个参数时可能重复计算，但只会保留第一个结果。
+     */
+    public static <T, F> Function<T, F> cached(Function<? super T, ? extends F> partial, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize 必须大于 0");
+        }
+        return new Cached<>(partial, maxSize);
+    }
+
+    public static IntFunction<IntUnaryOperator> curryInt(IntBinaryOperator operator) {
+        Objects.requireNonNull(operator);
+        return a -> b -> operator.applyAsInt(a, b);
+    }
+
+    public static LongFunction<LongUnaryOperator> curryLong(LongBinaryOperator operator) {
+        Objects.requireNonNull(operator);
+        return a -> b -> operator.applyAsLong(a, b);
+    }
+
+    public static DoubleFunction<DoubleUnaryOperator> curryDouble(DoubleBinaryOperator operator) {
+        Objects.requireNonNull(operator);
+        return a -> b -> operator.applyAsDouble(a, b);
+    }
+
+    /**
+     * {@code Function<Double, Function<Float, Consumer<Integer>>>} 的基本类型特化版本
+     */
+    public static DoubleFunction<FloatFunction<IntConsumer>> curryDoubleFloatInt(DoubleFloatIntConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        return t -> u -> r -> consumer.accept(t, u, r);
+    }
+
+    /**
+     * 读取时不加锁，命中时通常不写任何共享字段。时间戳只在未命中时增加：新结点的时间戳为偶数，命中时把结点的时间戳
+     * 更新为当前值加一，因此只有在上一次未命中之后第一次命中时才需要写入。淘汰只发生在未命中时，
+     * 淘汰时间戳最小的结点就是最久未使用的（两次未命中之间命中的结点不区分先后）。
+     * 超出容量时加锁扫描所有条目，maxSize 通常很小，扫描的开销可以接受
+     */
+    private static final class Cached<T, F> implements Function<T, F> {
+        private final Function<? super T, ? extends F> partial;
+        private final int maxSize;
+        private final ConcurrentHashMap<T, Node<T, F>> cache = new ConcurrentHashMap<>();
+        /**
+         * 时间戳，每次未命中时增加 2。并发时可能丢失更新，淘汰的结果只是近似的 LRU
+         */
+        private int clock;
+
+        private static final class Node<T, F> {
+            private final T key;
+            private final F value;
+            private int lastUsed;
+
+            Node(T key, F value, int lastUsed) {
+                this.key = key;
+                this.value = value;
+                this.lastUsed = lastUsed;
+            }
+        }
+
+        Cached(Function<? super T, ? extends F> partial, int maxSize) {
+            this.partial = Objects.requireNonNull(partial);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public F apply(T t) {
+            Node<T, F> node = t == null ? null : cache.get(t);
+            if (node == null) {
+                return miss(t);
+            }
+            int now = clock + 1;
+            if (node.lastUsed != now) {
+                node.lastUsed = now;
+            }
+            return node.value;
+        }
+
+        private F miss(T t) {
+            // 在锁外计算
+            F value = Objects.requireNonNull(partial.apply(t), "部分应用的结果不能为 null");
+            if (t == null) {
+                return value;
+            }
+            Node<T, F> previous = cache.putIfAbsent(t, new Node<>(t, value, clock += 2));
+            if (previous != null) {
+                return previous.value;
+            }
+            if (cache.size() > maxSize) {
+                evict();
+            }
+            return value;
+        }
+
+        private synchronized void evict() {
+            while (cache.size() > maxSize) {
+                Node<T, F> eldest = null;
+                for (Node<T, F> node : cache.values()) {
+                    if (eldest == null || node.lastUsed - eldest.lastUsed < 0) {
+                        eldest = node;
+                    }
+                }
+                if (eldest == null) {
+                    return;
+                }
+                cache.remove(eldest.key, eldest);
+            }
+        }
+    }
+}
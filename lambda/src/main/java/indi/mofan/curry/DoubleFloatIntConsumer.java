@@ -0,0 +1,12 @@
+package indi.mofan.curry;
+
+/**
+ * 参数依次为 double、float、int 的 {@code TernaryConsumer}，调用时不会装箱
+ *
+ * @author mofan
+ * @date 2026/10/20 22:00
+ */
+@FunctionalInterface
+public interface DoubleFloatIntConsumer {
+    void accept(double t, float u, int r);
+}
@@ -0,0 +1,12 @@
+package indi.mofan.curry;
+
+/**
+ * 参数为 float 的函数，JDK 中没有对应的接口
+ *
+ * @author mofan
+ * @date 2026/10/20 22:00
+ */
+@FunctionalInterface
+public interface FloatFunction<R> {
+    R apply(float value);
+}
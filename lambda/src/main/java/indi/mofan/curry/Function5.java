@@ -0,0 +1,12 @@
+package indi.mofan.curry;
+
+/**
+ * 接收五个参数的函数
+ *
+ * @author mofan
+ * @date 2026/10/20 22:00
+ */
+@FunctionalInterface
+public interface Function5<A, B, C, D, E, R> {
+    R apply(A a, B b, C c, D d, E e);
+}
@@ -4,7 +4,10 @@ import lombok.Getter;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author mofan
@@ -98,4 +101,100 @@ public class TreeNode {
             }
         }
     }
+
+    public static Stream<TreeNode> stream(TreeNode root, TraversalType type, boolean parallel) {
+        return StreamSupport.stream(spliterator(root, type), parallel);
+    }
+
+    /**
+     * 按 type 指定的顺序遍历，可以切分给并行流。
+     * <p>
+     * 待遍历的内容是一个有序队列，队列中的每一项要么是一整棵子树，要么是单个节点。切分时把队列的前一半交给新的
+     * Spliterator；队列中只剩一棵子树时，先按遍历顺序把它展开成左子树、根节点、右子树三项再切分，因此切分出的
+     * 两部分依然保持遍历顺序。树的大小未知，切分时剩余大小按一半估计。
+     */
+    public static Spliterator<TreeNode> spliterator(TreeNode root, TraversalType type) {
+        TreeSpliterator spliterator = new TreeSpliterator(type, Long.MAX_VALUE);
+        if (root != null) {
+            spliterator.pending.add(new Pending(root, true));
+        }
+        return spliterator;
+    }
+
+    /**
+     * @param whole 为 true 表示以 node 为根的整棵子树，否则只表示 node 本身
+     */
+    private record Pending(TreeNode node, boolean whole) {
+    }
+
+    private static final class TreeSpliterator implements Spliterator<TreeNode> {
+        private final TraversalType type;
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private long estimate;
+
+        TreeSpliterator(TraversalType type, long estimate) {
+            this.type = type;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TreeNode> action) {
+            Pending first;
+            while ((first = pending.pollFirst()) != null) {
+                if (!first.whole()) {
+                    action.accept(first.node());
+                    return true;
+                }
+                expand(first.node());
+            }
+            return false;
+        }
+
+        /**
+         * 按遍历顺序把整棵子树展开成三项，放回队首
+         */
+        private void expand(TreeNode node) {
+            Pending self = new Pending(node, false);
+            Pending left = node.left == null ? null : new Pending(node.left, true);
+            Pending right = node.right == null ? null : new Pending(node.right, true);
+            Pending[] order = switch (type) {
+                case PRE -> new Pending[]{self, left, right};
+                case IN -> new Pending[]{left, self, right};
+                case POST -> new Pending[]{left, right, self};
+            };
+            for (int i = order.length - 1; i >= 0; i--) {
+                if (order[i] != null) {
+                    pending.addFirst(order[i]);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<TreeNode> trySplit() {
+            if (pending.size() == 1 && pending.peekFirst().whole()) {
+                expand(pending.pollFirst().node());
+            }
+            int half = pending.size() / 2;
+            if (half == 0) {
+                return null;
+            }
+            // 大小未知时也减半，并行流据此判断切分深度
+            estimate >>>= 1;
+            TreeSpliterator prefix = new TreeSpliterator(type, estimate);
+            for (int i = 0; i < half; i++) {
+                prefix.pending.addLast(pending.pollFirst());
+            }
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
 }
@@ -0,0 +1,213 @@
+package indi.mofan.spi;
+
+import indi.mofan.spi.index.ProviderIndex;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * {@link Runnable} 服务提供者的注册中心。
+ * <p>
+ * 有编译期生成的 {@link ProviderIndex} 时只加载索引中的提供者，直接调用构造器创建，不解析服务文件；
+ * 没有索引时扫描 META-INF/services/indi.mofan.spi.Runnable，通过 {@link ServiceLoader.Provider} 按需实例化。
+ * 只在服务文件中登记、没有索引的提供者（如单独构建的插件 jar）需要通过 {@link #load(ClassLoader, boolean)} 显式加载。
+ * 实例化后缓存起来，后续不再重复创建。
+ *
+ * @author mofan
+ * @date 2026/10/19 11:05
+ */
+public final class RunnerRegistry {
+
+    private final List<Provider> providers;
+
+    private RunnerRegistry(List<Provider> providers) {
+        this.providers = providers;
+    }
+
+    private static class RegistryHolder {
+        private static final RunnerRegistry REGISTRY = load(RunnerRegistry.class.getClassLoader());
+    }
+
+    /**
+     * 基于当前类加载器的全局注册中心，首次调用时才加载提供者
+     */
+    public static RunnerRegistry getInstance() {
+        return RegistryHolder.REGISTRY;
+    }
+
+    /**
+     * 只加载索引中的提供者，没有索引时等同于 {@link #scan(ClassLoader)}
+     */
+    public static RunnerRegistry load(ClassLoader classLoader) {
+        return load(classLoader, false);
+    }
+
+    /**
+     * @param includeUnindexed 为 true 时，再扫描服务文件，追加没有编入索引的提供者
+     */
+    public static RunnerRegistry load(ClassLoader classLoader, boolean includeUnindexed) {
+        // 启动路径上避免使用 Lambda 表达式，JVM 首次链接 Lambda 的开销有几十毫秒
+        List<ProviderIndex<Runnable>> indexes = ProviderIndex.load(Runnable.class, classLoader);
+        if (indexes.isEmpty()) {
+            return scan(classLoader);
+        }
+        List<Provider> providers = new ArrayList<>();
+        Set<Class<?>> indexed = new HashSet<>();
+        for (ProviderIndex<Runnable> index : indexes) {
+            List<Class<? extends Runnable>> types = index.types();
+            for (int i = 0; i < types.size(); i++) {
+                if (indexed.add(types.get(i))) {
+                    providers.add(new Provider(types.get(i), new IndexSupplier(index, i)));
+                }
+            }
+        }
+        if (includeUnindexed) {
+            for (ServiceLoader.Provider<Runnable> provider : ServiceLoader.load(Runnable.class, classLoader).stream().toList()) {
+                if (indexed.add(provider.type())) {
+                    providers.add(new Provider(provider.type(), provider));
+                }
+            }
+        }
+        return new RunnerRegistry(List.copyOf(providers));
+    }
+
+    /**
+     * 通过 {@link ServiceLoader} 扫描服务文件加载
+     */
+    public static RunnerRegistry scan(ClassLoader classLoader) {
+        // stream() 只解析服务文件并加载类，不会实例化提供者
+        List<ServiceLoader.Provider<Runnable>> loaded = ServiceLoader.load(Runnable.class, classLoader).stream().toList();
+        List<Provider> providers = new ArrayList<>(loaded.size());
+        for (ServiceLoader.Provider<Runnable> provider : loaded) {
+            providers.add(new Provider(provider.type(), provider));
+        }
+        return new RunnerRegistry(List.copyOf(providers));
+    }
+
+    public List<Class<? extends Runnable>> types() {
+        return providers.stream().<Class<? extends Runnable>>map(Provider::type).toList();
+    }
+
+    /**
+     * 获取指定类型的提供者实例，第一次获取时才实例化
+     */
+    public <T extends Runnable> T get(Class<T> type) {
+        for (Provider provider : providers) {
+            if (provider.type() == type) {
+                return type.cast(provider.get());
+            }
+        }
+        throw new IllegalArgumentException(type.getName() + " 不是已注册的服务提供者");
+    }
+
+    /**
+     * 获取所有提供者实例，按加载顺序返回
+     */
+    public List<Runnable> runners() {
+        List<Runnable> runners = new ArrayList<>(providers.size());
+        for (Provider provider : providers) {
+            runners.add(provider.get());
+        }
+        return runners;
+    }
+
+    /**
+     * 在虚拟线程上并发地实例化并运行所有提供者，单个提供者失败不影响其他提供者
+     *
+     * @return 每个提供者的运行结果，按加载顺序返回
+     */
+    public List<RunResult> runAll() throws InterruptedException {
+        List<Callable<RunResult>> tasks = new ArrayList<>(providers.size());
+        for (Provider provider : providers) {
+            tasks.add(() -> run(provider));
+        }
+        List<RunResult> results = new ArrayList<>(tasks.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<RunResult> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            // run 方法内部已经捕获了所有异常
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    private RunResult run(Provider provider) {
+        long start = System.nanoTime();
+        Runnable runner;
+        try {
+            runner = provider.get();
+        } catch (Throwable e) {
+            return new RunResult(provider.type(), System.nanoTime() - start, 0, e);
+        }
+        long instantiated = System.nanoTime();
+        try {
+            runner.run();
+            return new RunResult(provider.type(), instantiated - start, System.nanoTime() - instantiated, null);
+        } catch (Throwable e) {
+            return new RunResult(provider.type(), instantiated - start, System.nanoTime() - instantiated, e);
+        }
+    }
+
+    private static final class Provider {
+        private final Class<? extends Runnable> type;
+        private final Supplier<? extends Runnable> supplier;
+        private volatile Runnable instance;
+
+        Provider(Class<? extends Runnable> type, Supplier<? extends Runnable> supplier) {
+            this.type = type;
+            this.supplier = supplier;
+        }
+
+        Class<? extends Runnable> type() {
+            return type;
+        }
+
+        /**
+         * 双重检查，保证每个提供者只实例化一次
+         */
+        Runnable get() {
+            Runnable runner = instance;
+            if (runner == null) {
+                synchronized (this) {
+                    runner = instance;
+                    if (runner == null) {
+                        instance = runner = supplier.get();
+                    }
+                }
+            }
+            return runner;
+        }
+    }
+
+    private record IndexSupplier(ProviderIndex<Runnable> index, int position) implements Supplier<Runnable> {
+        @Override
+        public Runnable get() {
+            return index.create(position);
+        }
+    }
+
+    /**
+     * 单个提供者的运行结果
+     *
+     * @param type             提供者类型
+     * @param instantiateNanos 获取实例的耗时，已缓存的实例耗时接近 0
+     * @param runNanos         run 方法的耗时
+     * @param failure          实例化或运行时抛出的异常，成功时为 null
+     */
+    public record RunResult(Class<? extends Runnable> type, long instantiateNanos, long runNanos, Throwable failure) {
+        public boolean isSuccess() {
+            return failure == null;
+        }
+    }
+}
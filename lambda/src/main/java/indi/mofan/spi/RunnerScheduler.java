@@ -0,0 +1,250 @@
+package indi.mofan.spi;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 基于 {@link Runnable} SPI 的任务调度器。
+ * <p>
+ * 任务先进入优先级队列（优先级数值越大越先执行，相同优先级先进先出），由分发线程在获取到并发许可后
+ * 交给虚拟线程执行，因此同时运行的任务数不会超过 maxConcurrency。
+ * <p>
+ * 任务抛出的异常交给构造时传入的 failureHandler 处理，最近一次的异常也可以通过 {@link Metrics#lastFailure()} 获取。
+ *
+ * @author mofan
+ * @date 2026/10/19 13:40
+ */
+public final class RunnerScheduler implements AutoCloseable {
+
+    public static final int DEFAULT_PRIORITY = 0;
+
+    /**
+     * 关闭调度器时放入队列的哨兵，优先级最低，排在所有任务之后
+     */
+    private static final Job SHUTDOWN = new Job(() -> {
+    }, Integer.MIN_VALUE, Long.MAX_VALUE, 0, null);
+
+    private final RunnerRegistry registry;
+    private final BiConsumer<? super Runnable, ? super Throwable> failureHandler;
+    private final Semaphore permits;
+    private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("runner-scheduler-timer").daemon().factory()
+    );
+    private final Thread dispatcher;
+    private final AtomicLong sequence = new AtomicLong();
+    /**
+     * 提交时持有读锁，关闭时持有写锁，保证检查是否关闭与任务入队是原子的，不会有任务排在 SHUTDOWN 之后
+     */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder running = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    private volatile Throwable lastFailure;
+
+    public RunnerScheduler(int maxConcurrency) {
+        this(RunnerRegistry.getInstance(), maxConcurrency);
+    }
+
+    /**
+     * 失败的任务只计入 {@link Metrics}
+     */
+    public RunnerScheduler(RunnerRegistry registry, int maxConcurrency) {
+        this(registry, maxConcurrency, (runner, failure) -> {
+        });
+    }
+
+    /**
+     * @param failureHandler 在执行任务的线程上调用，参数为失败的任务及其抛出的异常
+     */
+    public RunnerScheduler(RunnerRegistry registry, int maxConcurrency,
+                           BiConsumer<? super Runnable, ? super Throwable> failureHandler) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency 必须大于 0");
+        }
+        this.registry = registry;
+        this.failureHandler = Objects.requireNonNull(failureHandler);
+        this.permits = new Semaphore(maxConcurrency);
+        this.dispatcher = Thread.ofVirtual().name("runner-scheduler-dispatcher").start(this::dispatch);
+    }
+
+    /**
+     * 提交注册中心中的所有服务提供者
+     */
+    public void submitAll(int priority) {
+        for (Runnable runner : registry.runners()) {
+            submit(runner, priority);
+        }
+    }
+
+    public void submit(Runnable runner) {
+        submit(runner, DEFAULT_PRIORITY);
+    }
+
+    public void submit(Runnable runner, int priority) {
+        enqueue(runner, priority, null);
+    }
+
+    /**
+     * 周期性地提交任务。上一次提交的任务还在排队或运行时，本次提交会被跳过，避免任务堆积
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable runner, int priority,
+                                                  long initialDelay, long period, TimeUnit unit) {
+        ensureOpen();
+        AtomicBoolean inFlight = new AtomicBoolean();
+        return timer.scheduleAtFixedRate(() -> {
+            if (!closed && inFlight.compareAndSet(false, true)) {
+                enqueue(runner, priority, inFlight);
+            }
+        }, initialDelay, period, unit);
+    }
+
+    public Metrics metrics() {
+        long completedCount = completed.sum();
+        long failedCount = failed.sum();
+        long finished = completedCount + failedCount;
+        return new Metrics(
+                queue.size(),
+                running.intValue(),
+                submitted.sum(),
+                completedCount,
+                failedCount,
+                finished == 0 ? 0 : totalRunNanos.sum() / finished,
+                maxRunNanos.get(),
+                finished == 0 ? 0 : totalWaitNanos.sum() / finished,
+                lastFailure
+        );
+    }
+
+    /**
+     * 停止周期任务，不再接受新任务，等待已提交的任务全部执行完毕
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(SHUTDOWN);
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        timer.shutdownNow();
+        dispatcher.join();
+        workers.close();
+    }
+
+    private void enqueue(Runnable runner, int priority, AtomicBoolean inFlight) {
+        closeLock.readLock().lock();
+        try {
+            ensureOpen();
+            queue.add(new Job(runner, priority, sequence.getAndIncrement(), System.nanoTime(), inFlight));
+            submitted.increment();
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new RejectedExecutionException("调度器已关闭");
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (true) {
+                // 先拿到许可再取任务，保证等待许可期间新到的高优先级任务能够插队
+                permits.acquire();
+                Job job = queue.take();
+                if (job == SHUTDOWN) {
+                    permits.release();
+                    return;
+                }
+                running.increment();
+                workers.execute(() -> execute(job));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(Job job) {
+        long start = System.nanoTime();
+        totalWaitNanos.add(start - job.enqueuedAt());
+        try {
+            job.runner().run();
+            completed.increment();
+        } catch (Throwable e) {
+            failed.increment();
+            lastFailure = e;
+            handleFailure(job.runner(), e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            totalRunNanos.add(elapsed);
+            maxRunNanos.accumulateAndGet(elapsed, Math::max);
+            running.decrement();
+            if (job.inFlight() != null) {
+                job.inFlight().set(false);
+            }
+            permits.release();
+        }
+    }
+
+    private void handleFailure(Runnable runner, Throwable failure) {
+        try {
+            failureHandler.accept(runner, failure);
+        } catch (Throwable e) {
+            // 处理器自身的异常不能影响调度器的计数与许可
+            failure.addSuppressed(e);
+        }
+    }
+
+    private record Job(Runnable runner, int priority, long sequence, long enqueuedAt,
+                       AtomicBoolean inFlight) implements Comparable<Job> {
+        @Override
+        public int compareTo(Job o) {
+            int c = Integer.compare(o.priority, priority);
+            return c != 0 ? c : Long.compare(sequence, o.sequence);
+        }
+    }
+
+    /**
+     * 调度器运行指标
+     *
+     * @param queueDepth   排队中的任务数
+     * @param running      运行中的任务数
+     * @param submitted    已提交的任务总数
+     * @param completed    成功的任务数
+     * @param failed       失败的任务数
+     * @param avgRunNanos  平均运行耗时
+     * @param maxRunNanos  最大运行耗时
+     * @param avgWaitNanos 平均排队耗时
+     * @param lastFailure  最近一次失败的任务抛出的异常，没有失败时为 null
+     */
+    public record Metrics(int queueDepth, int running, long submitted, long completed, long failed,
+                          long avgRunNanos, long maxRunNanos, long avgWaitNanos, Throwable lastFailure) {
+    }
+}
@@ -1,11 +1,13 @@
 package indi.mofan.spi.impl;
 
 import indi.mofan.spi.Runnable;
+import indi.mofan.spi.index.ServiceProvider;
 
 /**
  * @author mofan
  * @date 2022/6/15 12:42
  */
+@ServiceProvider(Runnable.class)
 public class SimpleRunner implements Runnable {
     @Override
     public void run() {
@@ -1,6 +1,10 @@
 package indi.mofan;
 
 import com.google.common.collect.Lists;
+import indi.mofan.curry.Curry;
+import indi.mofan.curry.FloatFunction;
+import indi.mofan.curry.Function3;
+import indi.mofan.curry.Function6;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
 
@@ -9,7 +13,11 @@ import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
 
 /**
  * @author mofan
@@ -101,4 +109,73 @@ public class CurryingTest implements WithAssertions {
         // 1.0;2.0;3
         biFun.apply(1.0, 2f).accept(3);
     }
+
+    @Test
+    public void testCurry() {
+        Function<Integer, Function<Integer, Integer>> subtract = Curry.curry((Integer a, Integer b) -> a - b);
+        assertThat(subtract.apply(10).apply(3)).isEqualTo(7);
+        assertThat(Curry.uncurry2(subtract).apply(3, 10)).isEqualTo(-7);
+
+        Function<List<Integer>, Function<List<Integer>, Function<List<Integer>, List<Integer>>>> concat =
+                Curry.curry((List<Integer> i, List<Integer> j, List<Integer> k) -> {
+                    List<Integer> list = new ArrayList<>(i);
+                    list.addAll(j);
+                    list.addAll(k);
+                    return list;
+                });
+        assertThat(concat.apply(List.of(1, 2, 3)).apply(List.of(4, 5, 6)).apply(List.of(7, 8, 9)))
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        Function3<List<Integer>, List<Integer>, List<Integer>, List<Integer>> uncurried = Curry.uncurry3(concat);
+        assertThat(uncurried.apply(List.of(1), List.of(2), List.of(3))).containsExactly(1, 2, 3);
+
+        Function6<String, String, String, String, String, String, String> join =
+                (a, b, c, d, e, f) -> String.join("", a, b, c, d, e, f);
+        assertThat(Curry.curry(join).apply("a").apply("b").apply("c").apply("d").apply("e").apply("f"))
+                .isEqualTo("abcdef");
+        assertThat(Curry.uncurry6(Curry.curry(join)).apply("1", "2", "3", "4", "5", "6")).isEqualTo("123456");
+    }
+
+    @Test
+    public void testCachedCurry() {
+        List<Integer> prefixes = new ArrayList<>();
+        Function<Integer, Function<Integer, Integer>> add = Curry.curry((Integer a, Integer b) -> a + b, 2);
+        Function<Integer, Function<Integer, Integer>> counting = Curry.cached(a -> {
+            prefixes.add(a);
+            return add.apply(a);
+        }, 2);
+
+        Function<Integer, Integer> addOne = counting.apply(1);
+        assertThat(addOne.apply(2)).isEqualTo(3);
+        // 相同的前缀复用同一个部分应用
+        assertThat(counting.apply(1)).isSameAs(addOne);
+        assertThat(add.apply(1)).isSameAs(add.apply(1));
+        counting.apply(2);
+        assertThat(counting.apply(1)).isSameAs(addOne);
+        assertThat(prefixes).containsExactly(1, 2);
+
+        // 容量为 2，最久未使用的 2 被淘汰
+        counting.apply(3);
+        counting.apply(2);
+        assertThat(prefixes).containsExactly(1, 2, 3, 2);
+        assertThat(counting.apply(1).apply(1)).isEqualTo(2);
+        assertThat(prefixes).containsExactly(1, 2, 3, 2, 1);
+
+        assertThatThrownBy(() -> Curry.cached(add, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Curry.<Integer, Function<Integer, Integer>>cached(a -> null, 1).apply(1))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void testPrimitiveCurry() {
+        IntFunction<IntUnaryOperator> multiply = Curry.curryInt((a, b) -> a * b);
+        assertThat(multiply.apply(6).applyAsInt(7)).isEqualTo(42);
+        assertThat(Curry.curryLong(Long::sum).apply(1L << 40).applyAsLong(1)).isEqualTo((1L << 40) + 1);
+        assertThat(Curry.curryDouble(Math::pow).apply(2).applyAsDouble(10)).isEqualTo(1024.0);
+
+        StringBuilder builder = new StringBuilder();
+        DoubleFunction<FloatFunction<IntConsumer>> f = Curry.curryDoubleFloatInt((t, u, r) ->
+                builder.append(t).append(';').append(u).append(';').append(r));
+        f.apply(1.0).apply(2f).accept(3);
+        assertThat(builder).hasToString("1.0;2.0;3");
+    }
 }
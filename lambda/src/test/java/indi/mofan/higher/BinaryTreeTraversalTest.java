@@ -53,4 +53,34 @@ public class BinaryTreeTraversalTest implements WithAssertions {
         TreeNode.traverse(root, TreeNode.TraversalType.POST, i -> res.add(i.getVal()));
         assertThat(res).containsExactly(4, 2, 5, 6, 3, 1);
     }
+
+    @Test
+    public void testStream() {
+        assertThat(TreeNode.stream(root, TreeNode.TraversalType.PRE, false).map(TreeNode::getVal))
+                .containsExactly(1, 2, 4, 3, 5, 6);
+        assertThat(TreeNode.stream(root, TreeNode.TraversalType.IN, true).map(TreeNode::getVal))
+                .containsExactly(4, 2, 1, 5, 3, 6);
+        assertThat(TreeNode.stream(root, TreeNode.TraversalType.POST, true).map(TreeNode::getVal))
+                .containsExactly(4, 2, 5, 6, 3, 1);
+        assertThat(TreeNode.stream(null, TreeNode.TraversalType.PRE, true)).isEmpty();
+
+        // 较大的树上，并行流与迭代遍历的结果顺序一致
+        TreeNode big = build(1, 100_000);
+        for (TreeNode.TraversalType type : TreeNode.TraversalType.values()) {
+            List<Integer> expected = new ArrayList<>();
+            TreeNode.traverse(big, type, i -> expected.add(i.getVal()));
+            assertThat(TreeNode.stream(big, type, true).map(TreeNode::getVal).toList()).isEqualTo(expected);
+        }
+    }
+
+    /**
+     * [from, to] 构成的平衡二叉搜索树
+     */
+    private static TreeNode build(int from, int to) {
+        if (from > to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return new TreeNode(mid, build(from, mid - 1), build(mid + 1, to));
+    }
 }
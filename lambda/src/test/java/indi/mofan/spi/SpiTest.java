@@ -0,0 +1,270 @@
+package indi.mofan.spi;
+
+import indi.mofan.spi.impl.DemoRunner;
+import indi.mofan.spi.index.ProviderIndex;
+import indi.mofan.spi.impl.SimpleRunner;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author mofan
+ * @date 2026/10/19 11:30
+ */
+public class SpiTest implements WithAssertions {
+
+    @Test
+    public void testRunnerRegistry() throws Exception {
+        RunnerRegistry registry = RunnerRegistry.getInstance();
+        assertThat(registry.types()).containsExactlyInAnyOrder(SimpleRunner.class, DemoRunner.class);
+
+        // 实例只会创建一次
+        DemoRunner runner = registry.get(DemoRunner.class);
+        assertThat(registry.get(DemoRunner.class)).isSameAs(runner);
+        assertThat(registry.runners()).hasSize(2).contains(runner);
+
+        List<RunnerRegistry.RunResult> results = registry.runAll();
+        assertThat(results).extracting(RunnerRegistry.RunResult::type)
+                .containsExactlyElementsOf(registry.types());
+        assertThat(results).allMatch(RunnerRegistry.RunResult::isSuccess);
+        results.forEach(i -> System.out.println(i.type().getSimpleName() + ": " + i.runNanos() + "ns"));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> registry.get(Runnable.class));
+    }
+
+    @Test
+    public void testProviderIndex() {
+        // 编译期生成的索引与服务文件的顺序一致
+        List<ProviderIndex<Runnable>> indexes = ProviderIndex.load(Runnable.class, getClass().getClassLoader());
+        assertThat(indexes).hasSize(1);
+        ProviderIndex<Runnable> index = indexes.get(0);
+        assertThat(index.getClass().getPackage()).isEqualTo(SimpleRunner.class.getPackage());
+        assertThat(index.types()).containsExactly(SimpleRunner.class, DemoRunner.class);
+        assertThat(index.create(0)).isInstanceOf(SimpleRunner.class);
+        assertThat(index.create(1)).isInstanceOf(DemoRunner.class);
+
+        // 两种加载方式得到的提供者及顺序相同
+        RunnerRegistry scanned = RunnerRegistry.scan(getClass().getClassLoader());
+        assertThat(scanned.types()).containsExactly(SimpleRunner.class, DemoRunner.class);
+        assertThat(RunnerRegistry.load(getClass().getClassLoader()).types()).isEqualTo(scanned.types());
+    }
+
+    /**
+     * 模拟单独构建的插件 jar：带有自己的索引，另有一个只登记在服务文件中的提供者
+     */
+    @Test
+    public void testPluginProviders(@TempDir Path plugin) throws Exception {
+        Path services = Files.createDirectories(plugin.resolve("META-INF/services"));
+        Files.writeString(services.resolve(Runnable.class.getName()),
+                PluginIndexedRunner.class.getName() + "\n" + PluginRunner.class.getName() + "\n");
+        Path indexes = Files.createDirectories(plugin.resolve(ProviderIndex.RESOURCE_PREFIX));
+        Files.writeString(indexes.resolve(Runnable.class.getName()), PluginIndex.class.getName() + "\n");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{plugin.toUri().toURL()}, getClass().getClassLoader())) {
+            assertThat(ProviderIndex.load(Runnable.class, loader)).hasSize(2);
+
+            // 默认只加载索引中的提供者，不解析服务文件
+            assertThat(RunnerRegistry.load(loader).types())
+                    .containsExactly(SimpleRunner.class, DemoRunner.class, PluginIndexedRunner.class);
+
+            RunnerRegistry registry = RunnerRegistry.load(loader, true);
+            assertThat(registry.types()).containsExactly(
+                    SimpleRunner.class, DemoRunner.class, PluginIndexedRunner.class, PluginRunner.class);
+            assertThat(registry.types()).isEqualTo(RunnerRegistry.scan(loader).types());
+
+            int created = PluginIndex.CREATED.get();
+            assertThat(registry.get(PluginIndexedRunner.class)).isNotNull();
+            assertThat(PluginIndex.CREATED.get()).isEqualTo(created + 1);
+            assertThat(registry.get(PluginRunner.class)).isNotNull();
+            assertThat(registry.runAll()).allMatch(RunnerRegistry.RunResult::isSuccess);
+        }
+    }
+
+    public static class PluginIndexedRunner implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    public static class PluginRunner implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    /**
+     * 插件 jar 中生成的索引
+     */
+    public static class PluginIndex implements ProviderIndex<Runnable> {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        @Override
+        public Class<Runnable> service() {
+            return Runnable.class;
+        }
+
+        @Override
+        public List<Class<? extends Runnable>> types() {
+            return List.of(PluginIndexedRunner.class);
+        }
+
+        @Override
+        public Runnable create(int index) {
+            CREATED.incrementAndGet();
+            return new PluginIndexedRunner();
+        }
+    }
+
+    /**
+     * 使用新的类加载器重新加载项目中的类，两种方式都能加载到所有提供者。耗时的比较见 benchmarks 模块的 SpiStartupBenchmark
+     */
+    @Test
+    public void testColdStart() throws Exception {
+        URL[] urls = {
+                RunnerRegistry.class.getProtectionDomain().getCodeSource().getLocation(),
+                ProviderIndex.class.getProtectionDomain().getCodeSource().getLocation()
+        };
+        assertThat(coldStart(urls, "scan")).hasSize(2);
+        assertThat(coldStart(urls, "load")).hasSize(2);
+    }
+
+    private List<?> coldStart(URL[] urls, String method) throws Exception {
+        // 父加载器为平台类加载器，保证项目中的类都由新的类加载器重新加载
+        try (URLClassLoader loader = new URLClassLoader(urls, ClassLoader.getPlatformClassLoader())) {
+            Class<?> registryClass = loader.loadClass(RunnerRegistry.class.getName());
+            Object registry = registryClass.getMethod(method, ClassLoader.class).invoke(null, loader);
+            List<?> runners = (List<?>) registryClass.getMethod("runners").invoke(registry);
+            assertThat(runners).allMatch(i -> i.getClass().getClassLoader() == loader);
+            return runners;
+        }
+    }
+
+    @Test
+    public void testSchedulerConcurrencyLimit() throws Exception {
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Runnable runner = () -> {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            current.decrementAndGet();
+        };
+
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        RunnerScheduler scheduler = new RunnerScheduler(RunnerRegistry.getInstance(), 4,
+                (failedRunner, failure) -> failures.add(failure));
+        for (int i = 0; i < 200; i++) {
+            scheduler.submit(runner);
+        }
+        IllegalStateException exception = new IllegalStateException("failed");
+        scheduler.submit(() -> {
+            throw exception;
+        });
+        scheduler.close();
+
+        assertThat(peak.get()).isLessThanOrEqualTo(4);
+        RunnerScheduler.Metrics metrics = scheduler.metrics();
+        assertThat(metrics.submitted()).isEqualTo(201);
+        assertThat(metrics.completed()).isEqualTo(200);
+        assertThat(metrics.failed()).isEqualTo(1);
+        assertThat(metrics.lastFailure()).isSameAs(exception);
+        assertThat(failures).containsExactly(exception);
+        assertThat(metrics.queueDepth()).isZero();
+        assertThat(metrics.running()).isZero();
+        assertThat(metrics.maxRunNanos()).isGreaterThanOrEqualTo(metrics.avgRunNanos());
+
+        assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(() -> scheduler.submit(runner));
+    }
+
+    /**
+     * 关闭的同时并发提交任务：每个提交成功的任务都会执行，提交失败的都会收到 RejectedExecutionException。
+     * 提交线程远多于 CPU 核数，提交到一半被抢占的概率更大
+     */
+    @Test
+    public void testSchedulerSubmitWhileClosing() throws Exception {
+        for (int round = 0; round < 100; round++) {
+            AtomicInteger executed = new AtomicInteger();
+            AtomicInteger accepted = new AtomicInteger();
+            RunnerScheduler scheduler = new RunnerScheduler(2);
+            CountDownLatch submitting = new CountDownLatch(32);
+            List<Thread> submitters = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                submitters.add(Thread.ofPlatform().start(() -> {
+                    submitting.countDown();
+                    try {
+                        // 数量较少，关闭时队列很快排空
+                        for (int j = 0; j < 20; j++) {
+                            scheduler.submit(executed::incrementAndGet);
+                            accepted.incrementAndGet();
+                        }
+                    } catch (RejectedExecutionException e) {
+                        // 调度器已关闭
+                    }
+                }));
+            }
+            submitting.await();
+            scheduler.close();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+            assertThat(executed.get()).isEqualTo(accepted.get());
+            assertThat(scheduler.metrics().submitted()).isEqualTo(accepted.get());
+            assertThat(scheduler.metrics().queueDepth()).isZero();
+        }
+    }
+
+    @Test
+    public void testSchedulerPriority() throws Exception {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        try (RunnerScheduler scheduler = new RunnerScheduler(1)) {
+            // 占住唯一的许可，让后续任务都在队列中排队
+            scheduler.submit(() -> {
+                started.countDown();
+                try {
+                    blocking.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await();
+            scheduler.submit(() -> order.add(1), 1);
+            scheduler.submit(() -> order.add(10), 10);
+            scheduler.submit(() -> order.add(5), 5);
+            scheduler.submit(() -> order.add(11), 10);
+            assertThat(scheduler.metrics().queueDepth()).isEqualTo(4);
+            blocking.countDown();
+        }
+        assertThat(order).containsExactly(10, 11, 5, 1);
+    }
+
+    @Test
+    public void testSchedulerPeriodic() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        try (RunnerScheduler scheduler = new RunnerScheduler(2)) {
+            scheduler.submitAll(RunnerScheduler.DEFAULT_PRIORITY);
+            ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(latch::countDown, 1, 0, 10, TimeUnit.MILLISECONDS);
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            future.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package indi.mofan.spi.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 编译期生成的服务提供者索引，通过直接调用构造器创建提供者，不需要反射创建实例。
+ * <p>
+ * 每次编译生成一个索引类，放在第一个提供者所在的包中，如服务接口 {@code a.b.Service} 的提供者在 {@code c.d} 包中时，
+ * 索引类为 {@code c.d.ServiceProviderIndex}。索引类名登记在 {@code META-INF/provider-index/a.b.Service} 中，
+ * 类路径上的每个 jar 都可以有自己的索引。
+ *
+ * @author mofan
+ * @date 2026/10/19 14:32
+ */
+public interface ProviderIndex<S> {
+
+    String SUFFIX = "ProviderIndex";
+
+    /**
+     * 登记索引类名的资源文件的前缀，后接服务接口的二进制名称
+     */
+    String RESOURCE_PREFIX = "META-INF/provider-index/";
+
+    Class<S> service();
+
+    /**
+     * 所有提供者的类型，顺序与服务文件一致
+     */
+    List<Class<? extends S>> types();
+
+    /**
+     * 创建 {@link #types()} 中第 index 个提供者的实例
+     */
+    S create(int index);
+
+    static String indexName(String packageName, String serviceBinaryName) {
+        int dot = serviceBinaryName.lastIndexOf('.');
+        // 嵌套接口的二进制名称中含有 $，生成的索引类是顶层类
+        // 不使用 + 拼接字符串，避免在启动路径上引导 StringConcatFactory
+        String simpleName = serviceBinaryName.substring(dot + 1).replace('$', '_').concat(SUFFIX);
+        return packageName.isEmpty() ? simpleName : packageName.concat(".").concat(simpleName);
+    }
+
+    /**
+     * 加载类路径上服务接口的所有索引，按资源的查找顺序返回，没有生成索引时返回空列表
+     */
+    static <S> List<ProviderIndex<S>> load(Class<S> service, ClassLoader classLoader) {
+        String resource = RESOURCE_PREFIX.concat(service.getName());
+        List<ProviderIndex<S>> indexes = new ArrayList<>();
+        // 同一个位置可能出现多次，按类名去重
+        Set<String> names = new HashSet<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(resource);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String name = line.strip();
+                        if (!name.isEmpty() && !name.startsWith("#") && names.add(name)) {
+                            indexes.add(instantiate(service, name, classLoader));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取 " + resource + " 失败", e);
+        }
+        return indexes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> ProviderIndex<S> instantiate(Class<S> service, String name, ClassLoader classLoader) {
+        try {
+            Class<?> indexClass = Class.forName(name, true, classLoader);
+            ProviderIndex<S> index = (ProviderIndex<S>) indexClass.getDeclaredConstructor().newInstance();
+            if (index.service() != service) {
+                throw new IllegalStateException(name + " 不是 " + service.getName() + " 的索引");
+            }
+            return index;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("索引 " + name + " 实例化失败", e);
+        }
+    }
+}
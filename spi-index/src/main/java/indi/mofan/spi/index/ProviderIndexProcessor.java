@@ -0,0 +1,227 @@
+package indi.mofan.spi.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 处理 {@link ServiceProvider}，为每个服务接口生成一个 {@link ProviderIndex} 实现。
+ * <p>
+ * 索引在发现提供者的那一轮生成，不支持后续轮次中其他处理器生成的提供者。索引类放在第一个提供者所在的包中，
+ * 类名登记在 {@code META-INF/provider-index/服务接口的二进制名称} 中，多个 jar 各自的索引不会互相覆盖。
+ * <p>
+ * 提供者的顺序与编译输出目录中的 {@code META-INF/services} 服务文件一致（Maven 在编译前复制资源文件），
+ * 使索引与 {@link java.util.ServiceLoader} 的加载顺序相同；服务文件中没有列出的提供者排在最后，按全限定名排序。
+ *
+ * @author mofan
+ * @date 2026/10/19 14:40
+ */
+@SupportedAnnotationTypes("indi.mofan.spi.index.ServiceProvider")
+public class ProviderIndexProcessor extends AbstractProcessor {
+
+    /**
+     * 已经生成过索引的服务接口
+     */
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // 服务接口全限定名 -> 提供者
+        Map<String, List<TypeElement>> providers = new TreeMap<>();
+        Map<String, TypeElement> services = new TreeMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(ServiceProvider.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@ServiceProvider 只能标记在类上");
+                continue;
+            }
+            TypeElement provider = (TypeElement) element;
+            TypeElement service = getService(provider);
+            if (service == null || !validate(provider, service)) {
+                continue;
+            }
+            String serviceName = service.getQualifiedName().toString();
+            services.put(serviceName, service);
+            providers.computeIfAbsent(serviceName, k -> new ArrayList<>()).add(provider);
+        }
+        for (Map.Entry<String, List<TypeElement>> entry : providers.entrySet()) {
+            TypeElement service = services.get(entry.getKey());
+            if (!generated.add(entry.getKey())) {
+                error(entry.getValue().get(0), service + " 的索引已经在之前的轮次中生成");
+                continue;
+            }
+            List<TypeElement> list = entry.getValue();
+            List<String> declared = declaredProviders(binaryName(service));
+            list.sort(Comparator.<TypeElement>comparingInt(i -> {
+                int position = declared.indexOf(binaryName(i));
+                return position < 0 ? Integer.MAX_VALUE : position;
+            }).thenComparing(i -> i.getQualifiedName().toString()));
+            write(service, list);
+        }
+        return true;
+    }
+
+    private TypeElement getService(TypeElement provider) {
+        // 注解值是 Class，编译期不能直接读取，只能通过 AnnotationMirror 获取
+        for (AnnotationMirror mirror : provider.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotation.getQualifiedName().contentEquals(ServiceProvider.class.getCanonicalName())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")
+                        && entry.getValue().getValue() instanceof DeclaredType type) {
+                    return (TypeElement) type.asElement();
+                }
+            }
+        }
+        error(provider, "无法解析 @ServiceProvider 的服务接口");
+        return null;
+    }
+
+    private boolean validate(TypeElement provider, TypeElement service) {
+        Set<Modifier> modifiers = provider.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) {
+            error(provider, "服务提供者必须是 public 的非抽象类");
+            return false;
+        }
+        if (provider.getNestingKind().isNested() && !modifiers.contains(Modifier.STATIC)) {
+            error(provider, "嵌套的服务提供者必须是 static 的");
+            return false;
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(provider.getEnclosedElements());
+        boolean hasPublicNoArgConstructor = constructors.stream()
+                .anyMatch(i -> i.getParameters().isEmpty() && i.getModifiers().contains(Modifier.PUBLIC));
+        if (!hasPublicNoArgConstructor) {
+            error(provider, "服务提供者必须有 public 的无参构造器");
+            return false;
+        }
+        TypeMirror serviceType = processingEnv.getTypeUtils().erasure(service.asType());
+        if (!processingEnv.getTypeUtils().isAssignable(provider.asType(), serviceType)) {
+            error(provider, provider.getQualifiedName() + " 没有实现 " + service.getQualifiedName());
+            return false;
+        }
+        return true;
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    /**
+     * 读取服务文件中列出的提供者，没有服务文件时返回空列表
+     */
+    private List<String> declaredProviders(String serviceBinaryName) {
+        List<String> declared = new ArrayList<>();
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + serviceBinaryName);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    String name = (comment < 0 ? line : line.substring(0, comment)).strip();
+                    if (!name.isEmpty()) {
+                        declared.add(name);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 没有服务文件，按全限定名排序
+        }
+        return declared;
+    }
+
+    private void write(TypeElement service, List<TypeElement> providers) {
+        String serviceName = service.getQualifiedName().toString();
+        String serviceBinaryName = binaryName(service);
+        String packageName = processingEnv.getElementUtils().getPackageOf(providers.get(0)).getQualifiedName().toString();
+        String indexName = ProviderIndex.indexName(packageName, serviceBinaryName);
+        int dot = indexName.lastIndexOf('.');
+        String simpleName = indexName.substring(dot + 1);
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(indexName, providers.toArray(new Element[0])).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println("public final class " + simpleName
+                    + " implements indi.mofan.spi.index.ProviderIndex<" + serviceName + "> {");
+            out.println();
+            out.println("    private static final java.util.List<Class<? extends " + serviceName + ">> TYPES = java.util.List.of(");
+            for (int i = 0; i < providers.size(); i++) {
+                out.println("            " + providers.get(i).getQualifiedName() + ".class"
+                        + (i == providers.size() - 1 ? "" : ","));
+            }
+            out.println("    );");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<" + serviceName + "> service() {");
+            out.println("        return " + serviceName + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public java.util.List<Class<? extends " + serviceName + ">> types() {");
+            out.println("        return TYPES;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + serviceName + " create(int index) {");
+            out.println("        return switch (index) {");
+            for (int i = 0; i < providers.size(); i++) {
+                out.println("            case " + i + " -> new " + providers.get(i).getQualifiedName() + "();");
+            }
+            out.println("            default -> throw new IndexOutOfBoundsException(index);");
+            out.println("        };");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            error(service, "生成索引 " + indexName + " 失败: " + e.getMessage());
+            return;
+        }
+
+        String resource = ProviderIndex.RESOURCE_PREFIX + serviceBinaryName;
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", resource, providers.toArray(new Element[0]))
+                .openWriter())) {
+            out.println(indexName);
+        } catch (IOException e) {
+            error(service, "生成 " + resource + " 失败: " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,25 @@
+package indi.mofan.spi.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记服务提供者，编译期由 {@link ProviderIndexProcessor} 生成对应服务接口的 {@link ProviderIndex}。
+ * <p>
+ * 被标记的类必须是 public 的非抽象类，并且有 public 的无参构造器。
+ *
+ * @author mofan
+ * @date 2026/10/19 14:30
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface ServiceProvider {
+    /**
+     * 实现的服务接口
+     */
+    Class<?> value();
+}
@@ -1,7 +1,10 @@
 package indi.mofan;
 
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author mofan
@@ -44,4 +47,108 @@ public class MyMethod {
                 );
         return intArrayStream.limit(limit);
     }
+
+    /**
+     * 并行版本。搜索空间是满足 start <= i <= j <= end 的三角形区域，按 (i, j) 对的个数均匀切分，
+     * 而不是像 flatMap 那样按 i 切分（i 越大，对应的 j 越少，分片不均衡）。
+     *
+     * @param start 开始值
+     * @param end 结束值
+     * @param limit 多少个勾股数组
+     * @return 按 (i, j) 顺序排列的数组 Stream
+     */
+    public static Stream<int[]> getPythagoreanTripleParallelStream(int start, int end, int limit) {
+        return StreamSupport.stream(pairs(start, end), true)
+                .filter(p -> Math.sqrt(p[0] * p[0] + p[1] * p[1]) % 1 == 0)
+                .map(p -> new int[]{p[0], p[1], (int) Math.sqrt(p[0] * p[0] + p[1] * p[1])})
+                .limit(limit);
+    }
+
+    /**
+     * 满足 start <= i <= j <= end 的所有 (i, j)，SIZED 且 SUBSIZED
+     */
+    public static Spliterator<int[]> pairs(int start, int end) {
+        if (start > end) {
+            return new PairSpliterator(start, 0, 0, 0);
+        }
+        long n = (long) end - start + 1;
+        return new PairSpliterator(start, n, 0, n * (n + 1) / 2);
+    }
+
+    /**
+     * 将三角形区域按行展开后的下标区间 [index, fence)，第 r 行包含 n - r 个元素
+     */
+    private static final class PairSpliterator implements Spliterator<int[]> {
+        private final int start;
+        private final long n;
+        private long index;
+        private final long fence;
+        private long row;
+        private long column;
+
+        PairSpliterator(int start, long n, long index, long fence) {
+            this.start = start;
+            this.n = n;
+            this.index = index;
+            this.fence = fence;
+            if (index < fence) {
+                row = rowOf(index);
+                column = row + index - rowStart(row);
+            }
+        }
+
+        private long rowStart(long r) {
+            return r * (2 * n - r + 1) / 2;
+        }
+
+        private long rowOf(long k) {
+            double b = 2 * n + 1;
+            long r = (long) ((b - Math.sqrt(b * b - 8.0 * k)) / 2);
+            // 修正浮点误差
+            while (r > 0 && rowStart(r) > k) {
+                r--;
+            }
+            while (rowStart(r + 1) <= k) {
+                r++;
+            }
+            return r;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super int[]> action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(new int[]{(int) (start + row), (int) (start + column)});
+            index++;
+            if (++column == n) {
+                row++;
+                column = row;
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<int[]> trySplit() {
+            long mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            PairSpliterator prefix = new PairSpliterator(start, n, index, mid);
+            index = mid;
+            row = rowOf(index);
+            column = row + index - rowStart(row);
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
 }
@@ -0,0 +1,217 @@
+package indi.mofan.collector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collector;
+
+/**
+ * 声明了 {@link Collector.Characteristics#CONCURRENT} 与 {@link Collector.Characteristics#UNORDERED} 的收集器。
+ * <p>
+ * 并行流遇到这类收集器时，所有线程向同一个容器中累加，不再为每个分片创建容器、最后逐个合并。为了减少线程间的竞争，
+ * 容器按线程分段（striped）或使用 {@link LongAdder} 计数。
+ * <p>
+ * 由于是 UNORDERED 的，结果中元素的顺序不确定。
+ *
+ * @author mofan
+ * @date 2026/10/19 20:00
+ */
+public final class ConcurrentCollectors {
+
+    private static final Collector.Characteristics[] CONCURRENT_UNORDERED = {
+            Collector.Characteristics.CONCURRENT,
+            Collector.Characteristics.UNORDERED
+    };
+
+    private ConcurrentCollectors() {
+    }
+
+    /**
+     * 收集到 List 中，每个线程写入各自的分段，最后拼接
+     */
+    public static <T> Collector<T, ?, List<T>> toList() {
+        return Collector.of(
+                () -> new Striped<List<T>>(ArrayList::new),
+                (striped, t) -> {
+                    List<T> list = striped.stripe();
+                    synchronized (list) {
+                        list.add(t);
+                    }
+                },
+                Striped::merge,
+                striped -> {
+                    List<T> result = new ArrayList<>();
+                    for (List<T> list : striped.stripes()) {
+                        synchronized (list) {
+                            result.addAll(list);
+                        }
+                    }
+                    return result;
+                },
+                CONCURRENT_UNORDERED
+        );
+    }
+
+    /**
+     * 计数
+     */
+    public static <T> Collector<T, ?, Long> counting() {
+        return Collector.of(
+                LongAdder::new,
+                (adder, t) -> adder.increment(),
+                (a, b) -> {
+                    a.add(b.sum());
+                    return a;
+                },
+                LongAdder::sum,
+                CONCURRENT_UNORDERED
+        );
+    }
+
+    /**
+     * 分组计数，每个键对应一个 {@link LongAdder}
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> countingBy(Function<? super T, ? extends K> classifier) {
+        return Collector.<T, ConcurrentHashMap<K, LongAdder>, Map<K, Long>>of(
+                ConcurrentHashMap::new,
+                (map, t) -> map.computeIfAbsent(classifier.apply(t), k -> new LongAdder()).increment(),
+                (a, b) -> {
+                    b.forEach((k, v) -> a.computeIfAbsent(k, key -> new LongAdder()).add(v.sum()));
+                    return a;
+                },
+                map -> {
+                    Map<K, Long> result = new HashMap<>(Math.max((int) (map.size() / .75f) + 1, 16));
+                    map.forEach((k, v) -> result.put(k, v.sum()));
+                    return result;
+                },
+                CONCURRENT_UNORDERED
+        );
+    }
+
+    /**
+     * 分组，同一个键下按线程分段收集
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingBy(Function<? super T, ? extends K> classifier) {
+        return Collector.<T, ConcurrentHashMap<K, Striped<List<T>>>, Map<K, List<T>>>of(
+                ConcurrentHashMap::new,
+                (map, t) -> {
+                    List<T> list = map.computeIfAbsent(classifier.apply(t), k -> new Striped<>(ArrayList::new)).stripe();
+                    synchronized (list) {
+                        list.add(t);
+                    }
+                },
+                (a, b) -> {
+                    b.forEach((k, v) -> a.merge(k, v, Striped::merge));
+                    return a;
+                },
+                map -> {
+                    Map<K, List<T>> result = new HashMap<>(Math.max((int) (map.size() / .75f) + 1, 16));
+                    map.forEach((k, striped) -> {
+                        List<T> list = new ArrayList<>();
+                        for (List<T> stripe : striped.stripes()) {
+                            list.addAll(stripe);
+                        }
+                        result.put(k, list);
+                    });
+                    return result;
+                },
+                CONCURRENT_UNORDERED
+        );
+    }
+
+    /**
+     * 按 comparator 取最大的 k 个元素，结果按从大到小排列。每个分段维护一个容量为 k 的小顶堆
+     */
+    public static <T> Collector<T, ?, List<T>> topK(int k, Comparator<? super T> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k 必须大于 0");
+        }
+        return Collector.of(
+                () -> new Striped<PriorityQueue<T>>(i -> new PriorityQueue<>(k + 1, comparator)),
+                (striped, t) -> {
+                    PriorityQueue<T> heap = striped.stripe();
+                    synchronized (heap) {
+                        offer(heap, t, k, comparator);
+                    }
+                },
+                Striped::merge,
+                striped -> {
+                    PriorityQueue<T> merged = new PriorityQueue<>(k + 1, comparator);
+                    for (PriorityQueue<T> heap : striped.stripes()) {
+                        synchronized (heap) {
+                            heap.forEach(t -> offer(merged, t, k, comparator));
+                        }
+                    }
+                    List<T> result = new ArrayList<>(merged);
+                    result.sort(Collections.reverseOrder(comparator));
+                    return result;
+                },
+                CONCURRENT_UNORDERED
+        );
+    }
+
+    private static <T> void offer(PriorityQueue<T> heap, T t, int k, Comparator<? super T> comparator) {
+        if (heap.size() < k) {
+            heap.add(t);
+        } else if (comparator.compare(t, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(t);
+        }
+    }
+
+    /**
+     * 按线程分段的容器，分段数为不小于 CPU 核数的 2 的幂
+     */
+    static final class Striped<C> {
+        private static final int STRIPES = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1)) << 1;
+
+        private final Object[] stripes;
+
+        Striped(IntFunction<C> factory) {
+            this.stripes = new Object[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = factory.apply(i);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        C stripe() {
+            long id = Thread.currentThread().threadId();
+            int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+            return (C) stripes[(hash >>> 16) & (STRIPES - 1)];
+        }
+
+        @SuppressWarnings("unchecked")
+        List<C> stripes() {
+            List<C> list = new ArrayList<>(STRIPES);
+            for (Object stripe : stripes) {
+                list.add((C) stripe);
+            }
+            return list;
+        }
+
+        /**
+         * 顺序流不会调用合并；并行流中 CONCURRENT 收集器也只使用一个容器，这里只是为了满足 Collector 的约定
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Striped<C> merge(Striped<C> other) {
+            for (int i = 0; i < STRIPES; i++) {
+                Object target = stripes[i];
+                Object source = other.stripes[i];
+                if (target instanceof Collection collection) {
+                    collection.addAll((Collection) source);
+                }
+            }
+            return this;
+        }
+    }
+}
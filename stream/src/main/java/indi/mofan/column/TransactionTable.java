@@ -0,0 +1,325 @@
+package indi.mofan.column;
+
+import indi.mofan.domain.Trader;
+import indi.mofan.domain.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 列式存储的 {@link Transaction} 表。
+ * <p>
+ * 每个字段单独存放在一个 int 数组中，交易员和城市使用字典编码，只存放编号。聚合、过滤都是对 int 数组的紧凑循环，
+ * 没有装箱，也没有逐个对象的指针跳转，便于 JIT 展开循环和自动向量化。
+ * <p>
+ * 非线程安全，构建完成后只读访问是安全的。
+ *
+ * @author mofan
+ * @date 2026/10/19 15:30
+ */
+public final class TransactionTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 交易员字典与城市字典，过滤得到的新表与原表共享
+     */
+    private final Dictionary dictionary;
+
+    private int size;
+    private int[] year;
+    private int[] value;
+    private int[] traderId;
+    private int[] cityId;
+
+    public TransactionTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TransactionTable(int capacity) {
+        this(new Dictionary(), capacity);
+    }
+
+    private TransactionTable(Dictionary dictionary, int capacity) {
+        this.dictionary = dictionary;
+        int initial = Math.max(capacity, 1);
+        this.year = new int[initial];
+        this.value = new int[initial];
+        this.traderId = new int[initial];
+        this.cityId = new int[initial];
+    }
+
+    public static TransactionTable of(Collection<Transaction> transactions) {
+        TransactionTable table = new TransactionTable(transactions.size());
+        for (Transaction transaction : transactions) {
+            table.add(transaction);
+        }
+        return table;
+    }
+
+    public void add(Transaction transaction) {
+        Trader trader = transaction.getTrader();
+        add(trader.getName(), trader.getCity(), transaction.getYear(), transaction.getValue());
+    }
+
+    public void add(String traderName, String city, int year, int value) {
+        int trader = dictionary.traderId(traderName, city);
+        append(trader, dictionary.traderCity[trader], year, value);
+    }
+
+    private void append(int trader, int city, int year, int value) {
+        if (size == this.year.length) {
+            int capacity = size + (size >> 1) + 1;
+            this.year = Arrays.copyOf(this.year, capacity);
+            this.value = Arrays.copyOf(this.value, capacity);
+            this.traderId = Arrays.copyOf(this.traderId, capacity);
+            this.cityId = Arrays.copyOf(this.cityId, capacity);
+        }
+        this.year[size] = year;
+        this.value[size] = value;
+        this.traderId[size] = trader;
+        this.cityId[size] = city;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Transaction get(int row) {
+        Objects.checkIndex(row, size);
+        return new Transaction(dictionary.traders.get(traderId[row]), year[row], value[row]);
+    }
+
+    /**
+     * 还原成对象，同一交易员只会创建一个 {@link Trader} 实例
+     */
+    public Stream<Transaction> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    // -------------------- 聚合 --------------------
+
+    public long sumValue() {
+        long sum = 0;
+        int[] value = this.value;
+        for (int i = 0; i < size; i++) {
+            sum += value[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 按年份分组求交易额之和
+     *
+     * @return 按年份升序排列
+     */
+    public Map<Integer, Long> sumByYear() {
+        Map<Integer, Long> result = new TreeMap<>();
+        if (size == 0) {
+            return result;
+        }
+        int[] year = this.year;
+        int[] value = this.value;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, year[i]);
+            max = Math.max(max, year[i]);
+        }
+        if ((long) max - min >= 1 << 20) {
+            // 年份跨度过大，不适合使用数组桶
+            for (int i = 0; i < size; i++) {
+                result.merge(year[i], (long) value[i], Long::sum);
+            }
+            return result;
+        }
+        long[] sums = new long[max - min + 1];
+        int[] counts = new int[sums.length];
+        for (int i = 0; i < size; i++) {
+            int bucket = year[i] - min;
+            sums[bucket] += value[i];
+            counts[bucket]++;
+        }
+        for (int i = 0; i < sums.length; i++) {
+            if (counts[i] > 0) {
+                result.put(i + min, sums[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按城市分组求交易额之和
+     */
+    public Map<String, Long> sumByCity() {
+        long[] sums = new long[dictionary.cities.size()];
+        int[] cityId = this.cityId;
+        int[] value = this.value;
+        for (int i = 0; i < size; i++) {
+            sums[cityId[i]] += value[i];
+        }
+        int[] counts = countByCityId();
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < sums.length; i++) {
+            if (counts[i] > 0) {
+                result.put(dictionary.cities.get(i), sums[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按城市分组求最小交易额
+     */
+    public Map<String, Integer> minByCity() {
+        int[] mins = new int[dictionary.cities.size()];
+        Arrays.fill(mins, Integer.MAX_VALUE);
+        int[] cityId = this.cityId;
+        int[] value = this.value;
+        for (int i = 0; i < size; i++) {
+            int city = cityId[i];
+            mins[city] = Math.min(mins[city], value[i]);
+        }
+        return toCityMap(mins);
+    }
+
+    /**
+     * 按城市分组求最大交易额
+     */
+    public Map<String, Integer> maxByCity() {
+        int[] maxs = new int[dictionary.cities.size()];
+        Arrays.fill(maxs, Integer.MIN_VALUE);
+        int[] cityId = this.cityId;
+        int[] value = this.value;
+        for (int i = 0; i < size; i++) {
+            int city = cityId[i];
+            maxs[city] = Math.max(maxs[city], value[i]);
+        }
+        return toCityMap(maxs);
+    }
+
+    private int[] countByCityId() {
+        int[] counts = new int[dictionary.cities.size()];
+        int[] cityId = this.cityId;
+        for (int i = 0; i < size; i++) {
+            counts[cityId[i]]++;
+        }
+        return counts;
+    }
+
+    private Map<String, Integer> toCityMap(int[] values) {
+        int[] counts = countByCityId();
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (counts[i] > 0) {
+                result.put(dictionary.cities.get(i), values[i]);
+            }
+        }
+        return result;
+    }
+
+    // -------------------- 过滤 --------------------
+
+    /**
+     * 年份在 [from, to] 之间的交易
+     */
+    public TransactionTable filterYear(int from, int to) {
+        int[] year = this.year;
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            // 无分支写法：总是写入，满足条件才移动游标
+            rows[n] = i;
+            n += (year[i] >= from & year[i] <= to) ? 1 : 0;
+        }
+        return select(rows, n);
+    }
+
+    /**
+     * 交易额不小于 min 的交易
+     */
+    public TransactionTable filterValueAtLeast(int min) {
+        int[] value = this.value;
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            rows[n] = i;
+            n += value[i] >= min ? 1 : 0;
+        }
+        return select(rows, n);
+    }
+
+    /**
+     * 交易员所在城市为 city 的交易
+     */
+    public TransactionTable filterCity(String city) {
+        Integer id = dictionary.cityIds.get(city);
+        if (id == null) {
+            return select(new int[0], 0);
+        }
+        int target = id;
+        int[] cityId = this.cityId;
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            rows[n] = i;
+            n += cityId[i] == target ? 1 : 0;
+        }
+        return select(rows, n);
+    }
+
+    private TransactionTable select(int[] rows, int n) {
+        TransactionTable table = new TransactionTable(dictionary, n);
+        for (int i = 0; i < n; i++) {
+            int row = rows[i];
+            table.year[i] = year[row];
+            table.value[i] = value[row];
+            table.traderId[i] = traderId[row];
+            table.cityId[i] = cityId[row];
+        }
+        table.size = n;
+        return table;
+    }
+
+    /**
+     * 交易员、城市字典
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> cityIds = new HashMap<>();
+        private final List<String> cities = new ArrayList<>();
+        private final Map<TraderKey, Integer> traderIds = new HashMap<>();
+        private final List<Trader> traders = new ArrayList<>();
+        private int[] traderCity = new int[DEFAULT_CAPACITY];
+
+        int traderId(String name, String city) {
+            Integer id = traderIds.get(new TraderKey(name, city));
+            if (id != null) {
+                return id;
+            }
+            int trader = traders.size();
+            traders.add(new Trader(name, city));
+            traderIds.put(new TraderKey(name, city), trader);
+            if (trader == traderCity.length) {
+                traderCity = Arrays.copyOf(traderCity, trader * 2);
+            }
+            traderCity[trader] = cityIds.computeIfAbsent(city, k -> {
+                cities.add(k);
+                return cities.size() - 1;
+            });
+            return trader;
+        }
+    }
+
+    private record TraderKey(String name, String city) {
+    }
+}
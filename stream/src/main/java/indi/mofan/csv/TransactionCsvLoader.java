@@ -0,0 +1,379 @@
+package indi.mofan.csv;
+
+import indi.mofan.domain.Trader;
+import indi.mofan.domain.Transaction;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 通过内存映射读取交易记录 CSV 文件。
+ * <p>
+ * 每行的格式为 {@code name,city,year,value}，UTF-8 编码，不支持引号转义。解析时直接读取映射的字节，
+ * year、value 直接解析成 int，交易员按 (name, city) 复用同一个 {@link Trader} 实例，只有第一次遇到某个交易员时
+ * 才会创建字符串。
+ * <p>
+ * 返回的 Stream 按行边界切分，并行流中每个分片各自映射、解析文件的一段。使用完毕后需要关闭 Stream。
+ *
+ * @author mofan
+ * @date 2026/10/19 16:40
+ */
+public final class TransactionCsvLoader {
+
+    /**
+     * 小于该字节数的分片不再切分
+     */
+    static final int MIN_SPLIT_BYTES = 1 << 20;
+
+    /**
+     * 单次映射的最大字节数，一行的长度不能超过该值
+     */
+    static final int WINDOW_BYTES = 64 << 20;
+
+    private TransactionCsvLoader() {
+    }
+
+    public static Stream<Transaction> stream(Path path) {
+        return stream(path, false);
+    }
+
+    /**
+     * @param hasHeader 第一行是否为表头
+     */
+    public static Stream<Transaction> stream(Path path, boolean hasHeader) {
+        return stream(path, hasHeader, MIN_SPLIT_BYTES, WINDOW_BYTES);
+    }
+
+    static Stream<Transaction> stream(Path path, boolean hasHeader, int minSplitBytes, int windowBytes) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            CsvSpliterator spliterator = new CsvSpliterator(channel, 0, channel.size(), hasHeader,
+                    new TraderPool(), minSplitBytes, windowBytes);
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+        }
+    }
+
+    /**
+     * 负责文件中 [start, end) 这一段，start 总是位于行首，end 总是位于行尾之后或文件末尾
+     */
+    private static final class CsvSpliterator implements Spliterator<Transaction> {
+        private final FileChannel channel;
+        private final TraderPool pool;
+        private final TraderCache cache;
+        private final int minSplitBytes;
+        private final int windowBytes;
+        private boolean skipHeader;
+        private long start;
+        private final long end;
+
+        /**
+         * 当前映射的窗口及其在文件中的起始位置
+         */
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        CsvSpliterator(FileChannel channel, long start, long end, boolean skipHeader,
+                       TraderPool pool, int minSplitBytes, int windowBytes) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.skipHeader = skipHeader;
+            this.pool = pool;
+            this.cache = new TraderCache(pool);
+            this.minSplitBytes = minSplitBytes;
+            this.windowBytes = windowBytes;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Transaction> action) {
+            while (start < end) {
+                ensureWindow();
+                int from = (int) (start - windowStart);
+                int limit = window.limit();
+                int lineEnd = indexOf(window, (byte) '\n', from, limit);
+                if (lineEnd < 0) {
+                    if (windowStart + limit < end) {
+                        // 窗口截断了这一行，从行首重新映射
+                        if (from == 0) {
+                            throw new IllegalStateException("第 " + start + " 字节处的行超过了 " + windowBytes + " 字节");
+                        }
+                        window = null;
+                        continue;
+                    }
+                    // 文件最后一行没有换行符
+                    lineEnd = limit;
+                }
+                long lineStart = start;
+                start = windowStart + lineEnd + 1;
+                int contentEnd = lineEnd > from && window.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                if (skipHeader) {
+                    skipHeader = false;
+                    continue;
+                }
+                if (contentEnd == from) {
+                    continue;
+                }
+                action.accept(parse(window, from, contentEnd, lineStart));
+                return true;
+            }
+            window = null;
+            return false;
+        }
+
+        private void ensureWindow() {
+            if (window != null && start < windowStart + window.limit()) {
+                return;
+            }
+            windowStart = start;
+            long length = Math.min(windowBytes, end - start);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Transaction parse(ByteBuffer buffer, int from, int to, long offset) {
+            int nameEnd = indexOf(buffer, (byte) ',', from, to);
+            int cityEnd = nameEnd < 0 ? -1 : indexOf(buffer, (byte) ',', nameEnd + 1, to);
+            int yearEnd = cityEnd < 0 ? -1 : indexOf(buffer, (byte) ',', cityEnd + 1, to);
+            if (yearEnd < 0) {
+                throw new IllegalArgumentException("第 " + offset + " 字节处的行格式错误，应为 name,city,year,value");
+            }
+            Trader trader = cache.get(buffer, from, nameEnd, nameEnd + 1, cityEnd);
+            int year = parseInt(buffer, cityEnd + 1, yearEnd, offset);
+            int value = parseInt(buffer, yearEnd + 1, to, offset);
+            return new Transaction(trader, year, value);
+        }
+
+        @Override
+        public Spliterator<Transaction> trySplit() {
+            if (window != null || end - start < (long) minSplitBytes * 2) {
+                return null;
+            }
+            long boundary = nextLineStart(start + (end - start) / 2);
+            if (boundary <= start || boundary >= end) {
+                return null;
+            }
+            CsvSpliterator prefix = new CsvSpliterator(channel, start, boundary, skipHeader,
+                    pool, minSplitBytes, windowBytes);
+            skipHeader = false;
+            start = boundary;
+            return prefix;
+        }
+
+        /**
+         * 从 position 开始查找下一行的行首，找不到时返回 end
+         */
+        private long nextLineStart(long position) {
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            long pos = position;
+            try {
+                while (pos < end) {
+                    buffer.clear();
+                    int read = channel.read(buffer, pos);
+                    if (read <= 0) {
+                        break;
+                    }
+                    int index = indexOf(buffer, (byte) '\n', 0, read);
+                    if (index >= 0) {
+                        return pos + index + 1;
+                    }
+                    pos += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return end;
+        }
+
+        @Override
+        public long estimateSize() {
+            // 按平均每行 32 字节粗略估算
+            return Math.max((end - start) / 32, 1);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseInt(ByteBuffer buffer, int from, int to, long offset) {
+        boolean negative = from < to && buffer.get(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to) {
+            throw new IllegalArgumentException("第 " + offset + " 字节处的行包含空的数字字段");
+        }
+        int result = 0;
+        for (; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("第 " + offset + " 字节处的行包含非法的数字字段");
+            }
+            // 以负数累加，才能表示 Integer.MIN_VALUE
+            result = Math.subtractExact(Math.multiplyExact(result, 10), digit);
+        }
+        return negative ? result : Math.negateExact(result);
+    }
+
+    /**
+     * 全局的交易员池，按 (name, city) 的字节内容复用 {@link Trader}
+     */
+    private static final class TraderPool {
+        private final Map<TraderKey, Trader> traders = new ConcurrentHashMap<>();
+
+        Trader intern(byte[] name, byte[] city) {
+            return traders.computeIfAbsent(new TraderKey(name, city), k -> new Trader(
+                    new String(k.name, StandardCharsets.UTF_8),
+                    new String(k.city, StandardCharsets.UTF_8)
+            ));
+        }
+    }
+
+    private record TraderKey(byte[] name, byte[] city) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TraderKey other && Arrays.equals(name, other.name) && Arrays.equals(city, other.city);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(name) + Arrays.hashCode(city);
+        }
+    }
+
+    /**
+     * 单个分片私有的交易员缓存，开放寻址，直接比较映射中的字节，命中时不产生任何对象
+     */
+    private static final class TraderCache {
+        private final TraderPool pool;
+        private byte[][] names = new byte[64][];
+        private byte[][] cities = new byte[64][];
+        private Trader[] traders = new Trader[64];
+        private int size;
+
+        TraderCache(TraderPool pool) {
+            this.pool = pool;
+        }
+
+        Trader get(ByteBuffer buffer, int nameFrom, int nameTo, int cityFrom, int cityTo) {
+            int hash = hash(buffer, nameFrom, nameTo) * 31 + hash(buffer, cityFrom, cityTo);
+            int mask = traders.length - 1;
+            int slot = mix(hash) & mask;
+            while (traders[slot] != null) {
+                if (matches(buffer, nameFrom, nameTo, names[slot]) && matches(buffer, cityFrom, cityTo, cities[slot])) {
+                    return traders[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            byte[] name = copy(buffer, nameFrom, nameTo);
+            byte[] city = copy(buffer, cityFrom, cityTo);
+            Trader trader = pool.intern(name, city);
+            names[slot] = name;
+            cities[slot] = city;
+            traders[slot] = trader;
+            if (++size * 2 > traders.length) {
+                resize();
+            }
+            return trader;
+        }
+
+        private void resize() {
+            byte[][] oldNames = names;
+            byte[][] oldCities = cities;
+            Trader[] oldTraders = traders;
+            int capacity = oldTraders.length * 2;
+            names = new byte[capacity][];
+            cities = new byte[capacity][];
+            traders = new Trader[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < oldTraders.length; i++) {
+                if (oldTraders[i] == null) {
+                    continue;
+                }
+                int hash = Arrays.hashCode(oldNames[i]) * 31 + Arrays.hashCode(oldCities[i]);
+                int slot = mix(hash) & mask;
+                while (traders[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                names[slot] = oldNames[i];
+                cities[slot] = oldCities[i];
+                traders[slot] = oldTraders[i];
+            }
+        }
+
+        /**
+         * 与 {@link Arrays#hashCode(byte[])} 的结果一致
+         */
+        private static int hash(ByteBuffer buffer, int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            return hash;
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean matches(ByteBuffer buffer, int from, int to, byte[] bytes) {
+            if (to - from != bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer.get(from + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static byte[] copy(ByteBuffer buffer, int from, int to) {
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            return bytes;
+        }
+    }
+}
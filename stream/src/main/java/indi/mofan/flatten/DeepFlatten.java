@@ -0,0 +1,177 @@
+package indi.mofan.flatten;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 深度扁平化嵌套的 {@link Iterable} 与数组。
+ * <p>
+ * 使用显式的栈代替递归，嵌套再深也不会栈溢出；按遇到的顺序输出叶子元素，跳过 null。叶子元素通过
+ * {@link Class#cast} 转换成目标类型，类型不符时抛出 {@link ClassCastException}。
+ * <p>
+ * 并行流中只在最外层元素之间切分，一个最外层元素展开后的所有叶子总是由同一个分片处理。
+ * 不检测循环引用，包含自身的集合会导致无限遍历。
+ *
+ * @author mofan
+ * @date 2026/10/19 22:00
+ */
+public final class DeepFlatten {
+
+    private DeepFlatten() {
+    }
+
+    public static <T> Stream<T> stream(Iterable<?> root, Class<T> type) {
+        return StreamSupport.stream(spliterator(root, type), false);
+    }
+
+    public static <T> Stream<T> stream(Object[] root, Class<T> type) {
+        return StreamSupport.stream(new FlattenSpliterator<>(Arrays.spliterator(root), type), false);
+    }
+
+    public static <T> Spliterator<T> spliterator(Iterable<?> root, Class<T> type) {
+        return new FlattenSpliterator<>(root.spliterator(), type);
+    }
+
+    /**
+     * 用于 {@link Stream#mapMulti} 的展开函数，如 {@code stream.mapMulti(DeepFlatten.into(Integer.class))}
+     */
+    public static <T> BiConsumer<Object, Consumer<T>> into(Class<T> type) {
+        Objects.requireNonNull(type);
+        return (element, consumer) -> {
+            Deque<Iterator<?>> stack = new ArrayDeque<>();
+            Object current = element;
+            while (true) {
+                Iterator<?> nested = iterator(current);
+                if (nested != null) {
+                    stack.push(nested);
+                } else if (current != null) {
+                    consumer.accept(type.cast(current));
+                }
+                while (!stack.isEmpty() && !stack.peek().hasNext()) {
+                    stack.pop();
+                }
+                if (stack.isEmpty()) {
+                    return;
+                }
+                current = stack.peek().next();
+            }
+        };
+    }
+
+    /**
+     * 元素是 Iterable 或数组时返回其迭代器，否则返回 null
+     */
+    private static Iterator<?> iterator(Object element) {
+        if (element instanceof Iterable<?> iterable) {
+            return iterable.iterator();
+        }
+        if (element instanceof Object[] array) {
+            return Arrays.asList(array).iterator();
+        }
+        if (element != null && element.getClass().isArray()) {
+            return new PrimitiveArrayIterator(element);
+        }
+        return null;
+    }
+
+    private static final class FlattenSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<?> top;
+        private final Class<T> type;
+        /**
+         * 正在展开的最外层元素的迭代器栈，栈顶为嵌套最深的一层
+         */
+        private final Deque<Iterator<?>> stack = new ArrayDeque<>();
+        private Object pending;
+
+        FlattenSpliterator(Spliterator<?> top, Class<T> type) {
+            this.top = top;
+            this.type = Objects.requireNonNull(type);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (true) {
+                while (!stack.isEmpty() && !stack.peek().hasNext()) {
+                    stack.pop();
+                }
+                Object element;
+                if (!stack.isEmpty()) {
+                    element = stack.peek().next();
+                } else if (top.tryAdvance(this::setPending)) {
+                    element = pending;
+                    pending = null;
+                } else {
+                    return false;
+                }
+                Iterator<?> nested = iterator(element);
+                if (nested != null) {
+                    stack.push(nested);
+                } else if (element != null) {
+                    action.accept(type.cast(element));
+                    return true;
+                }
+            }
+        }
+
+        private void setPending(Object element) {
+            pending = element;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            // 正在展开某个元素时，栈中的状态无法分给另一个分片
+            if (!stack.isEmpty()) {
+                return null;
+            }
+            Spliterator<?> prefix = top.trySplit();
+            return prefix == null ? null : new FlattenSpliterator<>(prefix, type);
+        }
+
+        /**
+         * 只知道剩余最外层元素的数量，展开后通常更多
+         */
+        @Override
+        public long estimateSize() {
+            return top.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return (top.characteristics() & ORDERED) | NONNULL;
+        }
+    }
+
+    private static final class PrimitiveArrayIterator implements Iterator<Object> {
+        private final Object array;
+        private final int length;
+        private int index;
+
+        PrimitiveArrayIterator(Object array) {
+            this.array = array;
+            this.length = Array.getLength(array);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        @Override
+        public Object next() {
+            if (index >= length) {
+                throw new NoSuchElementException();
+            }
+            return Array.get(array, index++);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package indi.mofan.frequency;
+
+/**
+ * Count-Min Sketch，用固定大小的计数矩阵近似统计频率，适用于键的数量多到无法放进内存的场景。
+ * <p>
+ * 估计值只会偏大、不会偏小：以 1 - delta 的概率，误差不超过 epsilon * 总数。因此 {@link #estimate} 不大于 1 的键
+ * 一定没有重复，大于 1 的键可能是误报。非线程安全，多个实例可以通过 {@link #merge} 合并。
+ *
+ * @author mofan
+ * @date 2026/10/19 21:10
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    /**
+     * depth 行 width 列，按行展开存放
+     */
+    private final long[] table;
+    private long total;
+
+    /**
+     * @param width 每行的计数器个数
+     * @param depth 哈希函数的个数
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("width 和 depth 必须大于 0");
+        }
+        if ((long) width * depth > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("width * depth 过大");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.table = new long[width * depth];
+    }
+
+    /**
+     * 根据误差与置信度创建
+     *
+     * @param epsilon 相对于总数的误差，如 0.001
+     * @param delta   误差超出 epsilon 的概率，如 0.01
+     */
+    public static CountMinSketch withError(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("epsilon 和 delta 必须在 (0, 1) 之间");
+        }
+        int width = (int) Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(Math.log(1 / delta));
+        return new CountMinSketch(width, depth);
+    }
+
+    public void add(Object key) {
+        add(key.hashCode(), 1);
+    }
+
+    public void add(Object key, long count) {
+        add(key.hashCode(), count);
+    }
+
+    public void add(int key) {
+        add(key, 1);
+    }
+
+    public void add(int key, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count 不能为负数");
+        }
+        // 双重哈希：第 i 个哈希函数为 h1 + i * h2
+        int h1 = ObjectIntCounter.mix(key);
+        int h2 = ObjectIntCounter.mix(h1) | 1;
+        for (int i = 0; i < depth; i++) {
+            table[i * width + Math.floorMod(h1 + i * h2, width)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(Object key) {
+        return estimate(key.hashCode());
+    }
+
+    public long estimate(int key) {
+        int h1 = ObjectIntCounter.mix(key);
+        int h2 = ObjectIntCounter.mix(h1) | 1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, table[i * width + Math.floorMod(h1 + i * h2, width)]);
+        }
+        return min;
+    }
+
+    /**
+     * 已添加的总数
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * 合并大小相同的另一个 sketch
+     */
+    public CountMinSketch merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("只能合并 width、depth 相同的 Count-Min Sketch");
+        }
+        for (int i = 0; i < table.length; i++) {
+            table[i] += other.table[i];
+        }
+        total += other.total;
+        return this;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    @Override
+    public String toString() {
+        return "CountMinSketch{width=" + width + ", depth=" + depth + ", total=" + total + "}";
+    }
+}
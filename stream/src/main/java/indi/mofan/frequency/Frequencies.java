@@ -0,0 +1,92 @@
+package indi.mofan.frequency;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 频率统计与重复元素查找。
+ * <p>
+ * 与 {@code Collectors.toMap(identity(), i -> 1, Integer::sum)} 相比，计数存放在开放寻址的 int 数组中，
+ * 不会为每次累加装箱一个 Integer，查找重复元素时也不需要再对 entrySet 建立一次 Stream。并行流中各分片的计数器
+ * 合并时，总是把较小的表插入较大的表。
+ *
+ * @author mofan
+ * @date 2026/10/19 21:25
+ */
+public final class Frequencies {
+
+    private Frequencies() {
+    }
+
+    /**
+     * 统计每个元素出现的次数
+     */
+    public static <T> Collector<T, ?, ObjectIntCounter<T>> counting() {
+        return Collector.of(
+                ObjectIntCounter::new,
+                ObjectIntCounter::increment,
+                ObjectIntCounter::merge,
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    /**
+     * 出现次数大于 1 的元素，顺序不确定
+     */
+    public static <T> Collector<T, ?, List<T>> duplicates() {
+        return Collector.of(
+                ObjectIntCounter<T>::new,
+                ObjectIntCounter::increment,
+                ObjectIntCounter::merge,
+                counter -> counter.keysWithCountAtLeast(2),
+                Collector.Characteristics.UNORDERED
+        );
+    }
+
+    public static IntIntCounter count(IntStream stream) {
+        return stream.collect(IntIntCounter::new, IntIntCounter::increment, IntIntCounter::merge);
+    }
+
+    /**
+     * 出现次数大于 1 的 int 值，顺序不确定
+     */
+    public static int[] duplicates(IntStream stream) {
+        return count(stream).keysWithCountAtLeast(2);
+    }
+
+    /**
+     * 使用 Count-Min Sketch 近似统计，内存占用只与 sketch 的大小有关
+     *
+     * @param factory 每个分片都会创建一个 sketch，大小必须相同
+     */
+    public static <T> Collector<T, ?, CountMinSketch> approximate(Supplier<CountMinSketch> factory) {
+        return Collector.of(
+                factory,
+                CountMinSketch::add,
+                CountMinSketch::merge,
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    public static CountMinSketch approximate(IntStream stream, Supplier<CountMinSketch> factory) {
+        return stream.collect(factory, CountMinSketch::add, CountMinSketch::merge);
+    }
+
+    /**
+     * 近似地判断 stream 中是否存在重复元素。返回 false 时一定没有重复，返回 true 时可能误报。
+     * <p>
+     * 遇到第一个疑似重复的元素就会短路返回，sketch 不是线程安全的，因此总是顺序执行
+     */
+    public static <T> boolean mightHaveDuplicates(Stream<T> stream, Supplier<CountMinSketch> factory) {
+        CountMinSketch sketch = factory.get();
+        return stream.sequential().anyMatch(t -> {
+            sketch.add(t);
+            return sketch.estimate(t) > 1;
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package indi.mofan.frequency;
+
+import java.util.Arrays;
+
+/**
+ * int 到 int 计数的映射，键与计数都存放在 int 数组中，用于 {@link java.util.stream.IntStream} 等原始类型流。
+ * <p>
+ * 计数为 0 的槽位视为空槽，因此只允许正数的增量。非线程安全。
+ *
+ * @author mofan
+ * @date 2026/10/19 20:55
+ */
+public final class IntIntCounter {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] counts;
+    private int size;
+
+    public IntIntCounter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 预计的键数量
+     */
+    public IntIntCounter(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, DEFAULT_CAPACITY / 2) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.counts = new int[capacity];
+    }
+
+    public void increment(int key) {
+        add(key, 1);
+    }
+
+    /**
+     * @return 累加后的计数
+     */
+    public int add(int key, int delta) {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("delta 必须大于 0");
+        }
+        int slot = slot(key);
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            counts[slot] = delta;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return delta;
+        }
+        return counts[slot] += delta;
+    }
+
+    /**
+     * @return 键不存在时返回 0
+     */
+    public int get(int key) {
+        return counts[slot(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(IntIntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                action.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    /**
+     * 出现次数不少于 min 的键，顺序不确定
+     */
+    public int[] keysWithCountAtLeast(int min) {
+        int[] result = new int[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0 && counts[i] >= min) {
+                result[n++] = keys[i];
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * 将 other 合并到当前计数器中，总是把较小的表插入较大的表，合并后 other 不应再使用。
+     * <p>
+     * 签名与 {@link java.util.function.BiConsumer} 兼容，可以直接作为
+     * {@link java.util.stream.IntStream#collect} 的 combiner。
+     */
+    public void merge(IntIntCounter other) {
+        if (other.size > size) {
+            int[] keys = this.keys;
+            int[] counts = this.counts;
+            int size = this.size;
+            this.keys = other.keys;
+            this.counts = other.counts;
+            this.size = other.size;
+            other.keys = keys;
+            other.counts = counts;
+            other.size = size;
+        }
+        int[] otherKeys = other.keys;
+        int[] otherCounts = other.counts;
+        for (int i = 0; i < otherKeys.length; i++) {
+            if (otherCounts[i] != 0) {
+                add(otherKeys[i], otherCounts[i]);
+            }
+        }
+    }
+
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int slot = ObjectIntCounter.mix(key) & mask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] == 0) {
+                continue;
+            }
+            int slot = ObjectIntCounter.mix(oldKeys[i]) & mask;
+            while (counts[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int count);
+    }
+}
@@ -0,0 +1,160 @@
+package indi.mofan.frequency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * 对象到 int 计数的映射，开放寻址、线性探测，计数以 int 数组存放，不会为每个键创建包装对象。
+ * <p>
+ * 不支持 null 键，非线程安全。
+ *
+ * @author mofan
+ * @date 2026/10/19 20:40
+ */
+public final class ObjectIntCounter<K> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] keys;
+    private int[] counts;
+    private int size;
+
+    public ObjectIntCounter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 预计的键数量
+     */
+    public ObjectIntCounter(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, DEFAULT_CAPACITY / 2) * 2 - 1) << 1;
+        this.keys = new Object[capacity];
+        this.counts = new int[capacity];
+    }
+
+    public void increment(K key) {
+        add(key, 1);
+    }
+
+    /**
+     * @return 累加后的计数
+     */
+    public int add(K key, int delta) {
+        Objects.requireNonNull(key);
+        int slot = slot(key);
+        if (keys[slot] == null) {
+            keys[slot] = key;
+            counts[slot] = delta;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return delta;
+        }
+        return counts[slot] += delta;
+    }
+
+    /**
+     * @return 键不存在时返回 0
+     */
+    public int get(Object key) {
+        int slot = slot(Objects.requireNonNull(key));
+        return keys[slot] == null ? 0 : counts[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super K> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept((K) keys[i], counts[i]);
+            }
+        }
+    }
+
+    /**
+     * 出现次数不少于 min 的键，顺序不确定
+     */
+    @SuppressWarnings("unchecked")
+    public List<K> keysWithCountAtLeast(int min) {
+        List<K> result = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && counts[i] >= min) {
+                result.add((K) keys[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 将 other 合并到当前计数器中。当 other 更大时，先交换双方的哈希表，总是把较小的表逐个插入较大的表，
+     * 合并后 other 不应再使用。
+     */
+    @SuppressWarnings("unchecked")
+    public ObjectIntCounter<K> merge(ObjectIntCounter<K> other) {
+        if (other.size > size) {
+            Object[] keys = this.keys;
+            int[] counts = this.counts;
+            int size = this.size;
+            this.keys = other.keys;
+            this.counts = other.counts;
+            this.size = other.size;
+            other.keys = keys;
+            other.counts = counts;
+            other.size = size;
+        }
+        Object[] otherKeys = other.keys;
+        int[] otherCounts = other.counts;
+        for (int i = 0; i < otherKeys.length; i++) {
+            if (otherKeys[i] != null) {
+                add((K) otherKeys[i], otherCounts[i]);
+            }
+        }
+        return this;
+    }
+
+    private int slot(Object key) {
+        int mask = keys.length - 1;
+        int slot = mix(key.hashCode()) & mask;
+        Object existing;
+        while ((existing = keys[slot]) != null && !existing.equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new Object[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int slot = mix(oldKeys[i].hashCode()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((k, v) -> builder.append(builder.length() > 1 ? ", " : "").append(k).append('=').append(v));
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,242 @@
+package indi.mofan.gather;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Java 21 中还没有 {@code Stream#gather}，这里以静态方法的形式提供几个常用的有状态中间操作：
+ * 固定窗口、滑动窗口、分批处理、扫描以及基于虚拟线程的并发映射。
+ * <p>
+ * 所有操作都是惰性的，按需从上游拉取元素，不会把整个流收集成 List，并且保持遇到的顺序。返回的 Stream 继承上游的
+ * 并行属性，关闭时会关闭上游。
+ *
+ * @author mofan
+ * @date 2026/10/20 10:30
+ */
+public final class StreamGatherers {
+
+    private StreamGatherers() {
+    }
+
+    /**
+     * 每 size 个元素组成一个窗口，最后一个窗口可能不足 size 个
+     * <pre>{@code windowFixed(Stream.of(1, 2, 3, 4, 5), 2) -> [1, 2], [3, 4], [5]}</pre>
+     */
+    public static <T> Stream<List<T>> windowFixed(Stream<T> stream, int size) {
+        checkSize(size);
+        Spliterator<T> source = stream.spliterator();
+        return wrap(stream, new Spliterators.AbstractSpliterator<List<T>>(
+                estimate(source.estimateSize(), size), Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super List<T>> action) {
+                List<T> window = new ArrayList<>(size);
+                while (window.size() < size && source.tryAdvance(window::add)) {
+                    // 继续拉取
+                }
+                if (window.isEmpty()) {
+                    return false;
+                }
+                action.accept(Collections.unmodifiableList(window));
+                return true;
+            }
+        });
+    }
+
+    /**
+     * 大小为 size、步长为 1 的滑动窗口。元素个数不足 size 时，只输出一个包含全部元素的窗口
+     * <pre>{@code windowSliding(Stream.of(1, 2, 3, 4), 3) -> [1, 2, 3], [2, 3, 4]}</pre>
+     */
+    public static <T> Stream<List<T>> windowSliding(Stream<T> stream, int size) {
+        checkSize(size);
+        Spliterator<T> source = stream.spliterator();
+        return wrap(stream, new Spliterators.AbstractSpliterator<List<T>>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            /**
+             * 环形缓冲区，head 为窗口中第一个元素的位置
+             */
+            private final Object[] ring = new Object[size];
+            private int head;
+            private int count;
+            private boolean emitted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super List<T>> action) {
+                if (count < size) {
+                    // 填满第一个窗口
+                    while (count < size && source.tryAdvance(t -> ring[count++] = t)) {
+                        // 继续拉取
+                    }
+                    if (count == 0 || emitted) {
+                        return false;
+                    }
+                    emitted = true;
+                    action.accept(snapshot());
+                    return true;
+                }
+                if (!source.tryAdvance(t -> {
+                    ring[head] = t;
+                    head = (head + 1) % size;
+                })) {
+                    return false;
+                }
+                action.accept(snapshot());
+                return true;
+            }
+
+            @SuppressWarnings("unchecked")
+            private List<T> snapshot() {
+                List<T> window = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    window.add((T) ring[(head + i) % size]);
+                }
+                return Collections.unmodifiableList(window);
+            }
+        });
+    }
+
+    /**
+     * 每 size 个元素调用一次 function，再将返回的结果依次展开，适合把逐个的远程调用合并成批量调用
+     */
+    public static <T, R> Stream<R> batch(Stream<T> stream, int size,
+                                         Function<? super List<T>, ? extends Collection<? extends R>> function) {
+        Objects.requireNonNull(function);
+        return windowFixed(stream, size).flatMap(window -> function.apply(window).stream());
+    }
+
+    /**
+     * 依次输出累加的中间结果
+     * <pre>{@code scan(Stream.of(1, 2, 3), () -> 0, Integer::sum) -> 1, 3, 6}</pre>
+     */
+    public static <T, R> Stream<R> scan(Stream<T> stream, Supplier<R> initial,
+                                        BiFunction<? super R, ? super T, ? extends R> function) {
+        Objects.requireNonNull(initial);
+        Objects.requireNonNull(function);
+        Spliterator<T> source = stream.spliterator();
+        return wrap(stream, new Spliterators.AbstractSpliterator<R>(
+                source.estimateSize(), Spliterator.ORDERED | (source.characteristics() & Spliterator.SIZED)) {
+            private boolean started;
+            private R state;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super R> action) {
+                if (!started) {
+                    started = true;
+                    state = initial.get();
+                }
+                if (!source.tryAdvance(t -> state = function.apply(state, t))) {
+                    return false;
+                }
+                action.accept(state);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * 在虚拟线程中并发地执行 mapper，同时执行的任务不超过 maxConcurrency 个，结果按上游的顺序输出。
+     * <p>
+     * mapper 抛出的异常会在输出对应元素时重新抛出，并取消其他尚未完成的任务；Stream 关闭时也会取消尚未完成的任务。
+     */
+    public static <T, R> Stream<R> mapConcurrent(Stream<T> stream, int maxConcurrency,
+                                                 Function<? super T, ? extends R> mapper) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency 必须大于 0");
+        }
+        Objects.requireNonNull(mapper);
+        ConcurrentSpliterator<T, R> spliterator = new ConcurrentSpliterator<>(stream.spliterator(), maxConcurrency, mapper);
+        return wrap(stream, spliterator).onClose(spliterator::cancelAll);
+    }
+
+    private static final class ConcurrentSpliterator<T, R> extends Spliterators.AbstractSpliterator<R> {
+        private final Spliterator<T> source;
+        private final int maxConcurrency;
+        private final Function<? super T, ? extends R> mapper;
+        private final Deque<Future<R>> inFlight = new ArrayDeque<>();
+
+        ConcurrentSpliterator(Spliterator<T> source, int maxConcurrency, Function<? super T, ? extends R> mapper) {
+            super(source.estimateSize(), Spliterator.ORDERED | (source.characteristics() & Spliterator.SIZED));
+            this.source = source;
+            this.maxConcurrency = maxConcurrency;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            while (inFlight.size() < maxConcurrency && source.tryAdvance(this::start)) {
+                // 补足并发数
+            }
+            Future<R> first = inFlight.pollFirst();
+            if (first == null) {
+                return false;
+            }
+            action.accept(join(first));
+            return true;
+        }
+
+        private void start(T t) {
+            FutureTask<R> task = new FutureTask<>(() -> mapper.apply(t));
+            Thread.ofVirtual().name("mapConcurrent").start(task);
+            inFlight.addLast(task);
+        }
+
+        private R join(Future<R> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                CancellationException exception = new CancellationException("等待 mapConcurrent 结果时被中断");
+                exception.initCause(e);
+                throw exception;
+            } catch (ExecutionException e) {
+                cancelAll();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        void cancelAll() {
+            Future<R> future;
+            while ((future = inFlight.pollFirst()) != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <T> Stream<T> wrap(Stream<?> upstream, Spliterator<T> spliterator) {
+        return StreamSupport.stream(spliterator, upstream.isParallel()).onClose(upstream::close);
+    }
+
+    private static void checkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size 必须大于 0");
+        }
+    }
+
+    private static long estimate(long size, int windowSize) {
+        return size == Long.MAX_VALUE ? size : (size + windowSize - 1) / windowSize;
+    }
+}
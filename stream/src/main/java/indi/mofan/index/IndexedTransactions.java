@@ -0,0 +1,210 @@
+package indi.mofan.index;
+
+import indi.mofan.domain.Trader;
+import indi.mofan.domain.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 带二级索引的 {@link Transaction} 集合。
+ * <p>
+ * 在交易员所在城市、交易员姓名上建立哈希索引，在年份上建立有序索引，插入时同步维护。查询时会选择候选结果最少的索引，
+ * 再用其余条件过滤候选结果，避免对全部交易做线性扫描。
+ * <p>
+ * 索引基于插入时 {@link Trader} 的字段值，插入后修改交易员的姓名或城市不会更新索引。非线程安全。
+ *
+ * @author mofan
+ * @date 2026/10/19 18:05
+ */
+public class IndexedTransactions {
+
+    private final List<Transaction> all = new ArrayList<>();
+    private final Map<String, List<Transaction>> byCity = new HashMap<>();
+    private final Map<String, List<Transaction>> byName = new HashMap<>();
+    private final NavigableMap<Integer, List<Transaction>> byYear = new TreeMap<>();
+
+    public IndexedTransactions() {
+    }
+
+    public IndexedTransactions(Collection<Transaction> transactions) {
+        addAll(transactions);
+    }
+
+    public void add(Transaction transaction) {
+        Trader trader = transaction.getTrader();
+        all.add(transaction);
+        byCity.computeIfAbsent(trader.getCity(), k -> new ArrayList<>()).add(transaction);
+        byName.computeIfAbsent(trader.getName(), k -> new ArrayList<>()).add(transaction);
+        byYear.computeIfAbsent(transaction.getYear(), k -> new ArrayList<>()).add(transaction);
+    }
+
+    public void addAll(Collection<Transaction> transactions) {
+        transactions.forEach(this::add);
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * 查询时使用的索引
+     */
+    public enum Plan {
+        /**
+         * 城市哈希索引
+         */
+        CITY,
+        /**
+         * 姓名哈希索引
+         */
+        NAME,
+        /**
+         * 年份有序索引
+         */
+        YEAR,
+        /**
+         * 没有查询条件，全表扫描
+         */
+        SCAN
+    }
+
+    /**
+     * 查询条件之间是「且」的关系
+     */
+    public class Query {
+        private String city;
+        private String name;
+        private Integer fromYear;
+        private Integer toYear;
+
+        private Query() {
+        }
+
+        public Query city(String city) {
+            this.city = city;
+            return this;
+        }
+
+        public Query name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Query year(int year) {
+            return yearBetween(year, year);
+        }
+
+        /**
+         * 年份在 [from, to] 之间
+         */
+        public Query yearBetween(int from, int to) {
+            this.fromYear = from;
+            this.toYear = to;
+            return this;
+        }
+
+        /**
+         * 选择候选结果最少的索引
+         */
+        public Plan plan() {
+            Plan plan = Plan.SCAN;
+            long best = Long.MAX_VALUE;
+            if (city != null) {
+                best = byCity.getOrDefault(city, List.of()).size();
+                plan = Plan.CITY;
+            }
+            if (name != null) {
+                long count = byName.getOrDefault(name, List.of()).size();
+                if (count < best) {
+                    best = count;
+                    plan = Plan.NAME;
+                }
+            }
+            if (fromYear != null && countYears() < best) {
+                plan = Plan.YEAR;
+            }
+            return plan;
+        }
+
+        public Stream<Transaction> stream() {
+            Plan plan = plan();
+            Stream<Transaction> candidates = switch (plan) {
+                case CITY -> byCity.getOrDefault(city, List.of()).stream();
+                case NAME -> byName.getOrDefault(name, List.of()).stream();
+                case YEAR -> yearRange().values().stream().flatMap(List::stream);
+                case SCAN -> all.stream();
+            };
+            return candidates.filter(residual(plan));
+        }
+
+        public List<Transaction> list() {
+            return stream().toList();
+        }
+
+        public long count() {
+            // 只有一个条件时直接返回索引中的数量
+            Plan plan = plan();
+            if (plan == Plan.SCAN) {
+                return all.size();
+            }
+            if (conditions() == 1) {
+                return switch (plan) {
+                    case CITY -> byCity.getOrDefault(city, List.of()).size();
+                    case NAME -> byName.getOrDefault(name, List.of()).size();
+                    default -> countYears();
+                };
+            }
+            return stream().count();
+        }
+
+        private int conditions() {
+            return (city != null ? 1 : 0) + (name != null ? 1 : 0) + (fromYear != null ? 1 : 0);
+        }
+
+        private long countYears() {
+            long count = 0;
+            for (List<Transaction> list : yearRange().values()) {
+                count += list.size();
+            }
+            return count;
+        }
+
+        private NavigableMap<Integer, List<Transaction>> yearRange() {
+            if (fromYear > toYear) {
+                return Collections.emptyNavigableMap();
+            }
+            return byYear.subMap(fromYear, true, toYear, true);
+        }
+
+        /**
+         * 使用 plan 对应的索引后，还需要检查的其他条件
+         */
+        private Predicate<Transaction> residual(Plan plan) {
+            Predicate<Transaction> predicate = i -> true;
+            if (city != null && plan != Plan.CITY) {
+                predicate = predicate.and(i -> Objects.equals(city, i.getTrader().getCity()));
+            }
+            if (name != null && plan != Plan.NAME) {
+                predicate = predicate.and(i -> Objects.equals(name, i.getTrader().getName()));
+            }
+            if (fromYear != null && plan != Plan.YEAR) {
+                predicate = predicate.and(i -> i.getYear() >= fromYear && i.getYear() <= toYear);
+            }
+            return predicate;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package indi.mofan.join;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 基于哈希表的流连接。
+ * <p>
+ * 先对一侧（构建侧）建立一次哈希表，再逐个探测另一侧的元素，时间复杂度为 O(n + m)，而不是在 filter 中对另一侧做
+ * noneMatch/anyMatch 的 O(n * m)。构建完成的哈希表只读，探测侧是并行流时可以安全地并行探测。
+ * <p>
+ * 键使用 {@link Object#equals(Object)} 比较，允许为 null。键提取函数也可以传入 {@code SFunction} 这样的方法引用。
+ *
+ * @author mofan
+ * @date 2026/10/19 19:00
+ */
+public final class Joins {
+
+    /**
+     * 两侧都是集合时，探测侧超过该数量才使用并行流
+     */
+    static final int PARALLEL_PROBE_THRESHOLD = 10_000;
+
+    private Joins() {
+    }
+
+    /**
+     * 半连接：保留在 right 中存在相同键的 left 元素
+     */
+    public static <L, R, K> Stream<L> semiJoin(Stream<L> left, Collection<R> right,
+                                               Function<? super L, ? extends K> leftKey,
+                                               Function<? super R, ? extends K> rightKey) {
+        Set<K> keys = buildKeys(right, rightKey);
+        return left.filter(i -> keys.contains(leftKey.apply(i)));
+    }
+
+    /**
+     * 反连接：保留在 right 中不存在相同键的 left 元素
+     */
+    public static <L, R, K> Stream<L> antiJoin(Stream<L> left, Collection<R> right,
+                                               Function<? super L, ? extends K> leftKey,
+                                               Function<? super R, ? extends K> rightKey) {
+        Set<K> keys = buildKeys(right, rightKey);
+        return left.filter(i -> !keys.contains(leftKey.apply(i)));
+    }
+
+    /**
+     * 内连接：以 right 为构建侧，left 的每个元素与 right 中所有键相同的元素组合，保持 left 的顺序
+     */
+    public static <L, R, K, O> Stream<O> hashJoin(Stream<L> left, Collection<R> right,
+                                                  Function<? super L, ? extends K> leftKey,
+                                                  Function<? super R, ? extends K> rightKey,
+                                                  BiFunction<? super L, ? super R, ? extends O> combiner) {
+        Map<K, List<R>> table = buildTable(right, rightKey);
+        return left.flatMap(l -> {
+            List<R> matched = table.get(leftKey.apply(l));
+            return matched == null ? null : matched.stream().map(r -> combiner.apply(l, r));
+        });
+    }
+
+    /**
+     * 内连接：自动选择较小的一侧作为构建侧，较大的一侧数量较多时并行探测。结果的顺序不确定
+     */
+    public static <L, R, K, O> Stream<O> hashJoin(Collection<L> left, Collection<R> right,
+                                                  Function<? super L, ? extends K> leftKey,
+                                                  Function<? super R, ? extends K> rightKey,
+                                                  BiFunction<? super L, ? super R, ? extends O> combiner) {
+        if (left.size() < right.size()) {
+            Map<K, List<L>> table = buildTable(left, leftKey);
+            return probe(right).flatMap(r -> {
+                List<L> matched = table.get(rightKey.apply(r));
+                return matched == null ? null : matched.stream().map(l -> combiner.apply(l, r));
+            });
+        }
+        return hashJoin(probe(left), right, leftKey, rightKey, combiner);
+    }
+
+    private static <T> Stream<T> probe(Collection<T> collection) {
+        return collection.size() > PARALLEL_PROBE_THRESHOLD ? collection.parallelStream() : collection.stream();
+    }
+
+    private static <T, K> Set<K> buildKeys(Collection<T> collection, Function<? super T, ? extends K> key) {
+        Set<K> keys = new HashSet<>(Math.max((int) (collection.size() / .75f) + 1, 16));
+        for (T t : collection) {
+            keys.add(key.apply(t));
+        }
+        return keys;
+    }
+
+    private static <T, K> Map<K, List<T>> buildTable(Collection<T> collection, Function<? super T, ? extends K> key) {
+        Map<K, List<T>> table = new HashMap<>(Math.max((int) (collection.size() / .75f) + 1, 16));
+        for (T t : collection) {
+            table.computeIfAbsent(key.apply(t), k -> new ArrayList<>(1)).add(t);
+        }
+        return table;
+    }
+}
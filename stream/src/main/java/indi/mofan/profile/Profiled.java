@@ -0,0 +1,255 @@
+package indi.mofan.profile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * 逐个阶段统计的 Stream 包装器。
+ * <p>
+ * 每个 map、filter、flatMap 阶段都会统计流入、流出的元素个数，并按 1 / sampleRate 的概率抽样，用
+ * {@link System#nanoTime()} 记录该阶段函数本身的耗时（不包括下游阶段），最后按抽样的平均耗时估算每个阶段的总耗时。
+ * 计数使用 {@link LongAdder}，可以用于并行流。
+ * <pre>{@code
+ * Profiled<int[]> profiled = Profiled.stream(IntStream.rangeClosed(1, 100).boxed())
+ *         .flatMap("pairs", i -> ...)
+ *         .filter("isTriple", t -> ...);
+ * List<int[]> list = profiled.collect("toList", Collectors.toList());
+ * System.out.println(profiled.report());
+ * }</pre>
+ * flatMap 只统计生成子流的耗时，子流中的元素在下游消费时才会产生，子流内部的操作耗时不计入该阶段。
+ *
+ * @author mofan
+ * @date 2026/10/20 09:30
+ */
+public final class Profiled<T> {
+
+    public static final int DEFAULT_SAMPLE_RATE = 16;
+
+    private final Stream<T> stream;
+    private final Profile profile;
+
+    private Profiled(Stream<T> stream, Profile profile) {
+        this.stream = stream;
+        this.profile = profile;
+    }
+
+    public static <T> Profiled<T> stream(Stream<T> stream) {
+        return stream(stream, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * @param sampleRate 平均每 sampleRate 个元素计时一次，为 1 时每个元素都计时
+     */
+    public static <T> Profiled<T> stream(Stream<T> stream, int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("sampleRate 必须大于 0");
+        }
+        return new Profiled<>(Objects.requireNonNull(stream), new Profile(sampleRate));
+    }
+
+    public <R> Profiled<R> map(String name, Function<? super T, ? extends R> mapper) {
+        Stage stage = profile.add(name);
+        return new Profiled<>(stream.map(t -> {
+            stage.in.increment();
+            R result;
+            if (profile.sample()) {
+                long start = System.nanoTime();
+                result = mapper.apply(t);
+                stage.record(System.nanoTime() - start);
+            } else {
+                result = mapper.apply(t);
+            }
+            stage.out.increment();
+            return result;
+        }), profile);
+    }
+
+    public Profiled<T> filter(String name, Predicate<? super T> predicate) {
+        Stage stage = profile.add(name);
+        return new Profiled<>(stream.filter(t -> {
+            stage.in.increment();
+            boolean result;
+            if (profile.sample()) {
+                long start = System.nanoTime();
+                result = predicate.test(t);
+                stage.record(System.nanoTime() - start);
+            } else {
+                result = predicate.test(t);
+            }
+            if (result) {
+                stage.out.increment();
+            }
+            return result;
+        }), profile);
+    }
+
+    public <R> Profiled<R> flatMap(String name, Function<? super T, ? extends Stream<? extends R>> mapper) {
+        Stage stage = profile.add(name);
+        return new Profiled<>(stream.flatMap(t -> {
+            stage.in.increment();
+            Stream<? extends R> result;
+            if (profile.sample()) {
+                long start = System.nanoTime();
+                result = mapper.apply(t);
+                stage.record(System.nanoTime() - start);
+            } else {
+                result = mapper.apply(t);
+            }
+            return result == null ? null : result.peek(r -> stage.out.increment());
+        }), profile);
+    }
+
+    /**
+     * 不需要统计的中间操作，如 {@code p.then(s -> s.limit(5))}
+     */
+    public <R> Profiled<R> then(Function<? super Stream<T>, ? extends Stream<R>> operation) {
+        return new Profiled<>(operation.apply(stream), profile);
+    }
+
+    /**
+     * 终止操作，统计收集器累加的耗时以及整个流水线的耗时
+     */
+    public <A, R> R collect(String name, Collector<? super T, A, R> collector) {
+        Stage stage = profile.add(name);
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        Collector<T, A, R> timed = Collector.of(
+                collector.supplier(),
+                (container, t) -> {
+                    stage.in.increment();
+                    if (profile.sample()) {
+                        long start = System.nanoTime();
+                        accumulator.accept(container, t);
+                        stage.record(System.nanoTime() - start);
+                    } else {
+                        accumulator.accept(container, t);
+                    }
+                    stage.out.increment();
+                },
+                collector.combiner(),
+                collector.finisher(),
+                collector.characteristics().toArray(Collector.Characteristics[]::new)
+        );
+        long start = System.nanoTime();
+        R result = stream.collect(timed);
+        profile.elapsed.add(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * 取出底层的 Stream 执行其他终止操作，此时报告中没有整个流水线的耗时
+     */
+    public Stream<T> unwrap() {
+        return stream;
+    }
+
+    /**
+     * 每个阶段的统计结果，按流水线的顺序排列
+     */
+    public List<StageReport> stages() {
+        List<StageReport> result = new ArrayList<>();
+        for (Stage stage : profile.stages) {
+            result.add(stage.report());
+        }
+        return result;
+    }
+
+    /**
+     * 按阶段输出的文本报告
+     */
+    public String report() {
+        List<StageReport> stages = stages();
+        double total = 0;
+        for (StageReport stage : stages) {
+            total += stage.estimatedNanos();
+        }
+        StringBuilder builder = new StringBuilder(String.format("%-16s %12s %12s %10s %10s %12s %8s%n",
+                "stage", "in", "out", "out/in", "ns/elem", "est ms", "share"));
+        for (StageReport stage : stages) {
+            builder.append(String.format("%-16s %12d %12d %10.3f %10.1f %12.3f %7.1f%%%n",
+                    stage.name(), stage.in(), stage.out(), stage.selectivity(), stage.nanosPerElement(),
+                    stage.estimatedNanos() / 1e6, total == 0 ? 0 : stage.estimatedNanos() * 100 / total));
+        }
+        long elapsed = profile.elapsed.sum();
+        if (elapsed > 0) {
+            builder.append(String.format("pipeline %.3f ms%n", elapsed / 1e6));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param in              流入的元素个数
+     * @param out             流出的元素个数
+     * @param samples         计时的次数
+     * @param nanosPerElement 抽样得到的平均耗时
+     */
+    public record StageReport(String name, long in, long out, long samples, double nanosPerElement) {
+
+        /**
+         * 流出与流入的比值，filter 阶段即为通过率
+         */
+        public double selectivity() {
+            return in == 0 ? 0 : (double) out / in;
+        }
+
+        /**
+         * 按抽样的平均耗时估算的总耗时
+         */
+        public double estimatedNanos() {
+            return nanosPerElement * in;
+        }
+    }
+
+    /**
+     * 同一条流水线上的各个阶段共享
+     */
+    private static final class Profile {
+        private final int sampleRate;
+        private final List<Stage> stages = Collections.synchronizedList(new ArrayList<>());
+        private final LongAdder elapsed = new LongAdder();
+
+        Profile(int sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        Stage add(String name) {
+            Stage stage = new Stage(name);
+            stages.add(stage);
+            return stage;
+        }
+
+        boolean sample() {
+            return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        }
+    }
+
+    private static final class Stage {
+        private final String name;
+        private final LongAdder in = new LongAdder();
+        private final LongAdder out = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder sampledNanos = new LongAdder();
+
+        Stage(String name) {
+            this.name = Objects.requireNonNull(name);
+        }
+
+        void record(long nanos) {
+            samples.increment();
+            sampledNanos.add(nanos);
+        }
+
+        StageReport report() {
+            long count = samples.sum();
+            return new StageReport(name, in.sum(), out.sum(), count, count == 0 ? 0 : (double) sampledNanos.sum() / count);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package indi.mofan.spliterator;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * 数组 [from, to) 区间上的 Spliterator，每次从中间对半切分，切分出的两部分大小之差不超过 1。
+ *
+ * @author mofan
+ * @date 2026/10/19 22:30
+ */
+public final class ArrayRangeSpliterator<T> implements Spliterator<T> {
+
+    private final Object[] array;
+    private int from;
+    private final int to;
+    private final int characteristics;
+
+    public ArrayRangeSpliterator(Object[] array, int from, int to) {
+        this(array, from, to, 0);
+    }
+
+    /**
+     * @param additionalCharacteristics 在 ORDERED、SIZED、SUBSIZED 之外额外声明的特性，如 NONNULL、IMMUTABLE
+     */
+    public ArrayRangeSpliterator(Object[] array, int from, int to, int additionalCharacteristics) {
+        Objects.checkFromToIndex(from, to, array.length);
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.characteristics = additionalCharacteristics | ORDERED | SIZED | SUBSIZED;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept((T) array[from++]);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> action) {
+        Object[] array = this.array;
+        int i = from;
+        int to = this.to;
+        from = to;
+        for (; i < to; i++) {
+            action.accept((T) array[i]);
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (from + to) >>> 1;
+        if (mid <= from) {
+            return null;
+        }
+        ArrayRangeSpliterator<T> prefix = new ArrayRangeSpliterator<>(array, from, mid, characteristics);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
@@ -0,0 +1,103 @@
+package indi.mofan.spliterator;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * 把只能顺序访问的 {@link Iterator} 包装成可以并行的 Spliterator。
+ * <p>
+ * 每次切分从迭代器中取出一批元素放入数组，交给 {@link ArrayRangeSpliterator}，批次大小按
+ * {@code initialBatch, 2 * initialBatch, 4 * initialBatch ...} 指数增长，直到 {@code maxBatch}。
+ * 这样元素较少时也能切分出多个分片，元素很多时每批的开销又可以被摊薄。切分出的批次是 SIZED 的，
+ * 迭代器本身的大小未知时，剩余部分只能给出估计值。
+ *
+ * @author mofan
+ * @date 2026/10/19 22:45
+ */
+public final class ChunkedIteratorSpliterator<T> implements Spliterator<T> {
+
+    public static final int DEFAULT_INITIAL_BATCH = 16;
+    public static final int DEFAULT_MAX_BATCH = 1 << 16;
+
+    private final Iterator<? extends T> iterator;
+    private final int characteristics;
+    private final int maxBatch;
+    private int batch;
+    /**
+     * 剩余元素的个数，未知时为 Long.MAX_VALUE
+     */
+    private long estimate;
+
+    /**
+     * 大小未知的迭代器
+     */
+    public ChunkedIteratorSpliterator(Iterator<? extends T> iterator, int characteristics) {
+        this(iterator, Long.MAX_VALUE, characteristics, DEFAULT_INITIAL_BATCH, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * @param size 剩余元素的确切个数，未知时传 Long.MAX_VALUE
+     */
+    public ChunkedIteratorSpliterator(Iterator<? extends T> iterator, long size, int characteristics,
+                                      int initialBatch, int maxBatch) {
+        if (initialBatch <= 0 || maxBatch < initialBatch) {
+            throw new IllegalArgumentException("必须满足 0 < initialBatch <= maxBatch");
+        }
+        this.iterator = Objects.requireNonNull(iterator);
+        this.estimate = size;
+        this.batch = initialBatch;
+        this.maxBatch = maxBatch;
+        int known = size == Long.MAX_VALUE ? 0 : SIZED | SUBSIZED;
+        this.characteristics = (characteristics & ~(SIZED | SUBSIZED)) | known;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        action.accept(iterator.next());
+        if (estimate != Long.MAX_VALUE) {
+            estimate--;
+        }
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        iterator.forEachRemaining(action);
+        if (estimate != Long.MAX_VALUE) {
+            estimate = 0;
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (estimate <= 1 || !iterator.hasNext()) {
+            return null;
+        }
+        int n = (int) Math.min(batch, estimate);
+        Object[] array = new Object[n];
+        int i = 0;
+        do {
+            array[i] = iterator.next();
+        } while (++i < n && iterator.hasNext());
+        batch = Math.min(batch << 1, maxBatch);
+        if (estimate != Long.MAX_VALUE) {
+            estimate -= i;
+        }
+        return new ArrayRangeSpliterator<>(array, 0, i, characteristics & ~(SORTED | CONCURRENT));
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
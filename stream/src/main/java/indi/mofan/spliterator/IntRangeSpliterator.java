@@ -0,0 +1,85 @@
+package indi.mofan.spliterator;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * int 区间 [from, to) 上的 Spliterator，对半切分。
+ * <p>
+ * 可以指定最小切分粒度，小于该粒度的区间不再切分，避免每个元素计算量很小时切分得过细。
+ *
+ * @author mofan
+ * @date 2026/10/19 22:35
+ */
+public final class IntRangeSpliterator implements Spliterator.OfInt {
+
+    private int from;
+    private final int to;
+    private final int minSplitSize;
+
+    public IntRangeSpliterator(int from, int to) {
+        this(from, to, 1);
+    }
+
+    /**
+     * @param minSplitSize 切分后每一部分至少包含的元素个数
+     */
+    public IntRangeSpliterator(int from, int to, int minSplitSize) {
+        if (from > to) {
+            throw new IllegalArgumentException("from 不能大于 to");
+        }
+        if (minSplitSize <= 0) {
+            throw new IllegalArgumentException("minSplitSize 必须大于 0");
+        }
+        this.from = from;
+        this.to = to;
+        this.minSplitSize = minSplitSize;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept(from++);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        int i = from;
+        int to = this.to;
+        from = to;
+        for (; i < to; i++) {
+            action.accept(i);
+        }
+    }
+
+    @Override
+    public OfInt trySplit() {
+        long size = (long) to - from;
+        if (size < (long) minSplitSize * 2) {
+            return null;
+        }
+        int mid = (int) (from + size / 2);
+        IntRangeSpliterator prefix = new IntRangeSpliterator(from, mid, minSplitSize);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (long) to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT | SORTED;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+}
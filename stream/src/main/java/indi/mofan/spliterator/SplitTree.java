@@ -0,0 +1,95 @@
+package indi.mofan.spliterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+/**
+ * 切分诊断：模拟并行流递归切分 Spliterator，打印切分树以及每个叶子实际处理的元素个数。
+ * <p>
+ * 会消费传入的 Spliterator。
+ *
+ * @author mofan
+ * @date 2026/10/19 23:00
+ */
+public final class SplitTree {
+
+    private final StringBuilder tree = new StringBuilder();
+    private final List<Long> leaves = new ArrayList<>();
+
+    private SplitTree() {
+    }
+
+    /**
+     * @param maxDepth 最大切分深度，并行流通常切分到叶子数约为并行度的 4 倍
+     */
+    public static SplitTree of(Spliterator<?> spliterator, int maxDepth) {
+        SplitTree splitTree = new SplitTree();
+        splitTree.split(spliterator, 0, maxDepth, "");
+        return splitTree;
+    }
+
+    private void split(Spliterator<?> spliterator, int depth, int maxDepth, String indent) {
+        long estimate = spliterator.estimateSize();
+        Spliterator<?> prefix = depth < maxDepth ? spliterator.trySplit() : null;
+        if (prefix == null) {
+            long[] count = {0};
+            spliterator.forEachRemaining(i -> count[0]++);
+            leaves.add(count[0]);
+            tree.append(indent).append("leaf #").append(leaves.size() - 1)
+                    .append(" estimate=").append(format(estimate))
+                    .append(" actual=").append(count[0])
+                    .append(' ').append(flags(spliterator)).append('\n');
+            return;
+        }
+        tree.append(indent).append("split estimate=").append(format(estimate))
+                .append(' ').append(flags(spliterator)).append('\n');
+        split(prefix, depth + 1, maxDepth, indent + "  ");
+        split(spliterator, depth + 1, maxDepth, indent + "  ");
+    }
+
+    private static String format(long estimate) {
+        return estimate == Long.MAX_VALUE ? "unknown" : String.valueOf(estimate);
+    }
+
+    private static String flags(Spliterator<?> spliterator) {
+        List<String> flags = new ArrayList<>();
+        if (spliterator.hasCharacteristics(Spliterator.SIZED)) {
+            flags.add("SIZED");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.SUBSIZED)) {
+            flags.add("SUBSIZED");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.ORDERED)) {
+            flags.add("ORDERED");
+        }
+        return flags.toString();
+    }
+
+    /**
+     * 每个叶子处理的元素个数，按遇到的顺序排列
+     */
+    public List<Long> leaves() {
+        return leaves;
+    }
+
+    public long total() {
+        return leaves.stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * 最大叶子与平均叶子的比值，越接近 1 越均衡
+     */
+    public double imbalance() {
+        if (leaves.isEmpty() || total() == 0) {
+            return 1;
+        }
+        long max = leaves.stream().mapToLong(Long::longValue).max().orElse(0);
+        return max / ((double) total() / leaves.size());
+    }
+
+    @Override
+    public String toString() {
+        return tree + String.format("leaves=%d total=%d imbalance=%.2f", leaves.size(), total(), imbalance());
+    }
+}
@@ -0,0 +1,58 @@
+package indi.mofan;
+
+import indi.mofan.collector.ConcurrentCollectors;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * @author mofan
+ * @date 2026/10/19 20:20
+ */
+public class ConcurrentCollectorsTest implements WithAssertions {
+
+    @Test
+    public void testToList() {
+        List<Integer> list = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(ConcurrentCollectors.toList());
+        assertThat(list).hasSize(100_000);
+        assertThat(list.stream().mapToLong(i -> i).sum()).isEqualTo(100_000L * 99_999 / 2);
+
+        assertThat(List.of(1, 2, 3).stream().collect(ConcurrentCollectors.toList())).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    public void testCounting() {
+        long count = IntStream.range(0, 100_000).boxed().parallel()
+                .filter(i -> i % 3 == 0)
+                .collect(ConcurrentCollectors.counting());
+        assertThat(count).isEqualTo(33_334);
+
+        Map<Integer, Long> countingBy = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(ConcurrentCollectors.countingBy(i -> i % 10));
+        assertThat(countingBy).hasSize(10).allSatisfy((k, v) -> assertThat(v).isEqualTo(10_000));
+    }
+
+    @Test
+    public void testGroupingBy() {
+        Map<Boolean, List<Integer>> map = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(ConcurrentCollectors.groupingBy(i -> i % 2 == 0));
+        assertThat(map.get(true)).hasSize(50_000).allMatch(i -> i % 2 == 0);
+        assertThat(map.get(false)).hasSize(50_000).allMatch(i -> i % 2 == 1);
+    }
+
+    @Test
+    public void testTopK() {
+        List<Integer> top = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(ConcurrentCollectors.topK(5, Comparator.naturalOrder()));
+        assertThat(top).containsExactly(99_999, 99_998, 99_997, 99_996, 99_995);
+
+        assertThat(List.of("a", "bbb", "cc").stream().collect(ConcurrentCollectors.topK(5, Comparator.comparing(String::length))))
+                .containsExactly("bbb", "cc", "a");
+        assertThatIllegalArgumentException().isThrownBy(() -> ConcurrentCollectors.topK(0, Comparator.<Integer>naturalOrder()));
+    }
+}
@@ -0,0 +1,86 @@
+package indi.mofan;
+
+import indi.mofan.frequency.CountMinSketch;
+import indi.mofan.frequency.Frequencies;
+import indi.mofan.frequency.IntIntCounter;
+import indi.mofan.frequency.ObjectIntCounter;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @author mofan
+ * @date 2026/10/19 21:40
+ */
+public class FrequenciesTest implements WithAssertions {
+
+    @Test
+    public void testDuplicates() {
+        List<String> duplicates = Stream.of("1", "2", "2", "3", "3", "4", "5", "6", "6", "6")
+                .collect(Frequencies.duplicates());
+        assertThat(duplicates).containsExactlyInAnyOrder("2", "3", "6");
+
+        ObjectIntCounter<String> counter = Stream.of("1", "2", "2", "3", "3", "4", "5", "6", "6", "6")
+                .collect(Frequencies.counting());
+        assertThat(counter.size()).isEqualTo(6);
+        assertThat(counter.get("6")).isEqualTo(3);
+        assertThat(counter.get("7")).isZero();
+
+        assertThat(Frequencies.duplicates(IntStream.of(1, 2, 2, 3, 3, 0, 0, -1))).containsExactlyInAnyOrder(2, 3, 0);
+    }
+
+    @Test
+    public void testParallel() {
+        ObjectIntCounter<Integer> counter = IntStream.range(0, 200_000).boxed().parallel()
+                .map(i -> i % 1000)
+                .collect(Frequencies.counting());
+        assertThat(counter.size()).isEqualTo(1000);
+        assertThat(counter.keysWithCountAtLeast(200)).hasSize(1000);
+        assertThat(counter.keysWithCountAtLeast(201)).isEmpty();
+
+        IntIntCounter intCounter = Frequencies.count(IntStream.range(0, 200_000).parallel().map(i -> i % 1000 - 500));
+        assertThat(intCounter.size()).isEqualTo(1000);
+        assertThat(intCounter.get(-500)).isEqualTo(200);
+        assertThat(intCounter.get(0)).isEqualTo(200);
+        assertThat(intCounter.get(500)).isZero();
+    }
+
+    @Test
+    public void testMerge() {
+        ObjectIntCounter<String> small = new ObjectIntCounter<>();
+        small.add("a", 2);
+        ObjectIntCounter<String> large = new ObjectIntCounter<>();
+        IntStream.range(0, 100).forEach(i -> large.increment("k" + i));
+        large.increment("a");
+
+        ObjectIntCounter<String> merged = small.merge(large);
+        assertThat(merged).isSameAs(small);
+        assertThat(merged.size()).isEqualTo(101);
+        assertThat(merged.get("a")).isEqualTo(3);
+        assertThat(merged.get("k99")).isEqualTo(1);
+    }
+
+    @Test
+    public void testCountMinSketch() {
+        CountMinSketch sketch = Frequencies.approximate(IntStream.range(0, 100_000).parallel().map(i -> i % 100),
+                () -> CountMinSketch.withError(0.001, 0.01));
+        assertThat(sketch.total()).isEqualTo(100_000);
+        // 只会高估，误差不超过 epsilon * total
+        for (int i = 0; i < 100; i++) {
+            assertThat(sketch.estimate(i)).isBetween(1000L, 1000L + 100);
+        }
+
+        CountMinSketch strings = Stream.of("a", "b", "b", "c", "c", "c")
+                .collect(Frequencies.approximate(() -> new CountMinSketch(1024, 4)));
+        assertThat(strings.estimate("c")).isGreaterThanOrEqualTo(3);
+        assertThat(strings.estimate("a")).isGreaterThanOrEqualTo(1);
+
+        assertThat(Frequencies.mightHaveDuplicates(Stream.of("1", "2", "3"), () -> new CountMinSketch(1024, 4))).isFalse();
+        assertThat(Frequencies.mightHaveDuplicates(Stream.of("1", "2", "1"), () -> new CountMinSketch(1024, 4))).isTrue();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> new CountMinSketch(16, 4).merge(new CountMinSketch(32, 4)));
+    }
+}
@@ -0,0 +1,67 @@
+package indi.mofan;
+
+import indi.mofan.domain.Trader;
+import indi.mofan.domain.Transaction;
+import indi.mofan.index.IndexedTransactions;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * @author mofan
+ * @date 2026/10/19 18:40
+ */
+public class IndexedTransactionsTest implements WithAssertions {
+
+    private final Trader raoul = new Trader("Raoul", "Cambridge");
+    private final Trader mario = new Trader("Mario", "Milan");
+    private final Trader alan = new Trader("Alan", "Cambridge");
+    private final Trader brian = new Trader("Brian", "Cambridge");
+
+    private final IndexedTransactions transactions = new IndexedTransactions(List.of(
+            new Transaction(brian, 2011, 300),
+            new Transaction(raoul, 2012, 1000),
+            new Transaction(raoul, 2011, 400),
+            new Transaction(mario, 2012, 710),
+            new Transaction(mario, 2012, 700),
+            new Transaction(alan, 2012, 950)
+    ));
+
+    @Test
+    public void testQuery() {
+        assertThat(transactions.size()).isEqualTo(6);
+
+        IndexedTransactions.Query query = transactions.query().city("Cambridge");
+        assertThat(query.plan()).isEqualTo(IndexedTransactions.Plan.CITY);
+        assertThat(query.count()).isEqualTo(4);
+
+        // 姓名索引的候选结果更少
+        query = transactions.query().city("Cambridge").name("Raoul");
+        assertThat(query.plan()).isEqualTo(IndexedTransactions.Plan.NAME);
+        assertThat(query.list()).extracting(Transaction::getValue).containsExactly(1000, 400);
+
+        // 2011 年只有两笔交易，比城市索引的候选结果少
+        query = transactions.query().city("Cambridge").year(2011);
+        assertThat(query.plan()).isEqualTo(IndexedTransactions.Plan.YEAR);
+        assertThat(query.list()).extracting(Transaction::getValue).containsExactlyInAnyOrder(300, 400);
+
+        query = transactions.query().yearBetween(2011, 2012).city("Milan");
+        assertThat(query.plan()).isEqualTo(IndexedTransactions.Plan.CITY);
+        assertThat(query.count()).isEqualTo(2);
+
+        assertThat(transactions.query().plan()).isEqualTo(IndexedTransactions.Plan.SCAN);
+        assertThat(transactions.query().count()).isEqualTo(6);
+        assertThat(transactions.query().city("Beijing").list()).isEmpty();
+        assertThat(transactions.query().yearBetween(2013, 2011).count()).isZero();
+    }
+
+    @Test
+    public void testMaintainedOnInsert() {
+        IndexedTransactions.Query query = transactions.query().city("Beijing");
+        assertThat(query.count()).isZero();
+        transactions.add(new Transaction(new Trader("mofan", "Beijing"), 2024, 100));
+        assertThat(query.count()).isEqualTo(1);
+        assertThat(transactions.query().year(2024).name("mofan").list()).hasSize(1);
+    }
+}
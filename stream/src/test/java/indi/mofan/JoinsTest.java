@@ -0,0 +1,59 @@
+package indi.mofan;
+
+import indi.mofan.domain.Trader;
+import indi.mofan.domain.Transaction;
+import indi.mofan.join.Joins;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @author mofan
+ * @date 2026/10/19 19:30
+ */
+public class JoinsTest implements WithAssertions {
+
+    private final Trader trader1 = new Trader("name1", "city1");
+    private final Trader trader2 = new Trader("name2", "city2");
+    private final Trader trader3 = new Trader("name3", "city3");
+    private final Trader trader4 = new Trader("name4", "city4");
+
+    private final List<Trader> blacklist = List.of(new Trader("name4", "city4"), new Trader("name0", "city2"));
+
+    @Test
+    public void testSemiAndAntiJoin() {
+        // 等价于 SimpleTest#testMatch 中 filter + noneMatch 的写法
+        List<Trader> allowed = Joins.antiJoin(Stream.of(trader1, trader2, trader3, trader4), blacklist,
+                Trader::getCity, Trader::getCity).toList();
+        assertThat(allowed).containsExactly(trader1, trader3);
+
+        List<Trader> blocked = Joins.semiJoin(Stream.of(trader1, trader2, trader3, trader4), blacklist,
+                Trader::getCity, Trader::getCity).toList();
+        assertThat(blocked).containsExactly(trader2, trader4);
+    }
+
+    @Test
+    public void testHashJoin() {
+        List<Transaction> transactions = List.of(
+                new Transaction(trader1, 2011, 300),
+                new Transaction(trader2, 2012, 1000),
+                new Transaction(trader4, 2011, 400),
+                new Transaction(trader4, 2012, 710)
+        );
+        List<String> joined = Joins.hashJoin(Stream.of(trader1, trader3, trader4), transactions,
+                Trader::getName, i -> i.getTrader().getName(),
+                (trader, transaction) -> trader.getName() + ":" + transaction.getValue()).toList();
+        assertThat(joined).containsExactly("name1:300", "name4:400", "name4:710");
+
+        // 两侧都是集合时自动选择较小的一侧构建哈希表，探测侧较大时并行探测
+        List<Integer> numbers = IntStream.range(0, 50_000).boxed().toList();
+        List<Integer> evens = List.of(0, 2, 4, 6);
+        List<Integer> result = Joins.hashJoin(numbers, evens, i -> i, i -> i, (l, r) -> l + r).toList();
+        assertThat(result).containsExactlyInAnyOrder(0, 4, 8, 12);
+        result = Joins.hashJoin(evens, numbers, i -> i, i -> i, (l, r) -> l * r).toList();
+        assertThat(result).containsExactlyInAnyOrder(0, 4, 16, 36);
+    }
+}
@@ -1,11 +1,13 @@
 package indi.mofan;
 
+import indi.mofan.flatten.DeepFlatten;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -14,14 +16,6 @@ import java.util.stream.Stream;
  */
 public class NewStreamApiTest implements WithAssertions {
 
-    private void deepFlatten(Object e, Consumer<Object> c) {
-        if (e instanceof Iterable<?> elements) {
-            elements.forEach(ie -> deepFlatten(ie, c));
-        } else if (e != null) {
-            c.accept(e);
-        }
-    }
-
     @Test
     public void testMapMulti() {
         List<String> list = List.of("Tom", "Jerry");
@@ -37,12 +31,32 @@ public class NewStreamApiTest implements WithAssertions {
         // 深度扁平化
         var nestedList = List.of(1, 2, List.of(3, 4, List.of(5, 6)), List.of(7, 8));
         List<Integer> integerList = nestedList.stream()
-                .mapMulti(this::deepFlatten)
-                .map(String::valueOf)
-                .map(Integer::valueOf)
+                .mapMulti(DeepFlatten.into(Integer.class))
                 .toList();
-        assertThat(integerList).hasSize(8)
-                .hasSizeBetween(1, 8);
+        assertThat(integerList).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    public void testDeepFlatten() {
+        List<Object> nested = List.of(1, new Object[]{2, new int[]{3, 4}}, List.of(List.of(), 5), Arrays.asList(6, null, 7));
+        assertThat(DeepFlatten.stream(nested, Integer.class)).containsExactly(1, 2, 3, 4, 5, 6, 7);
+        assertThatExceptionOfType(ClassCastException.class)
+                .isThrownBy(() -> DeepFlatten.stream(List.of(1, List.of("2")), Integer.class).toList());
+
+        // 嵌套很深也不会栈溢出
+        List<Object> deep = List.of(0);
+        for (int i = 1; i <= 100_000; i++) {
+            deep = List.of(deep, i);
+        }
+        assertThat(DeepFlatten.stream(deep, Integer.class).mapToLong(i -> i).sum()).isEqualTo(100_000L * 100_001 / 2);
+
+        // 在最外层元素之间切分，并行流依然保持顺序
+        List<Object> wide = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            wide.add(List.of(i * 3, List.of(i * 3 + 1, new Integer[]{i * 3 + 2})));
+        }
+        assertThat(DeepFlatten.stream(wide, Integer.class).parallel().toList())
+                .containsExactlyElementsOf(IntStream.range(0, 30_000).boxed().toList());
     }
 
     @Test
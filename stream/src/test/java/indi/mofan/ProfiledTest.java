@@ -0,0 +1,58 @@
+package indi.mofan;
+
+import indi.mofan.profile.Profiled;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @author mofan
+ * @date 2026/10/20 10:00
+ */
+public class ProfiledTest implements WithAssertions {
+
+    @Test
+    public void testPythagoreanTriple() {
+        // 与 MyMethod.getPythagoreanTripleIntStream 相同的流水线
+        Profiled<int[]> profiled = Profiled.stream(IntStream.rangeClosed(1, 100).boxed())
+                .flatMap("pairs", i -> IntStream.rangeClosed(i, 100).mapToObj(j -> new int[]{i, j}))
+                .filter("isTriple", p -> Math.sqrt(p[0] * p[0] + p[1] * p[1]) % 1 == 0)
+                .map("toTriple", p -> new int[]{p[0], p[1], (int) Math.sqrt(p[0] * p[0] + p[1] * p[1])});
+        List<int[]> triples = profiled.collect("toList", Collectors.toList());
+        System.out.println(profiled.report());
+
+        List<Profiled.StageReport> stages = profiled.stages();
+        assertThat(stages).extracting(Profiled.StageReport::name)
+                .containsExactly("pairs", "isTriple", "toTriple", "toList");
+        assertThat(stages.get(0).in()).isEqualTo(100);
+        assertThat(stages.get(0).out()).isEqualTo(100 * 101 / 2);
+        assertThat(stages.get(1).in()).isEqualTo(100 * 101 / 2);
+        assertThat(stages.get(1).out()).isEqualTo(triples.size());
+        assertThat(stages.get(3).in()).isEqualTo(triples.size());
+        assertThat(stages).allMatch(i -> i.samples() <= i.in());
+    }
+
+    @Test
+    public void testDuplicate() {
+        Profiled<Map.Entry<String, Integer>> profiled = Profiled.stream(
+                        Stream.of("1", "2", "2", "3", "3", "4", "5", "6", "6", "6").parallel(), 1)
+                .then(s -> s.collect(Collectors.toMap(Function.identity(), i -> 1, Integer::sum)).entrySet().stream())
+                .filter("count > 1", i -> i.getValue() > 1);
+        List<String> duplicates = profiled.map("key", Map.Entry::getKey).unwrap().toList();
+        assertThat(duplicates).containsExactlyInAnyOrder("2", "3", "6");
+
+        Profiled.StageReport filter = profiled.stages().get(0);
+        assertThat(filter.in()).isEqualTo(6);
+        assertThat(filter.out()).isEqualTo(3);
+        assertThat(filter.selectivity()).isEqualTo(0.5);
+        // 采样率为 1 时每个元素都计时
+        assertThat(filter.samples()).isEqualTo(6);
+        assertThat(profiled.report()).contains("count > 1", "key");
+    }
+}
@@ -0,0 +1,85 @@
+package indi.mofan;
+
+import indi.mofan.spliterator.ArrayRangeSpliterator;
+import indi.mofan.spliterator.ChunkedIteratorSpliterator;
+import indi.mofan.spliterator.IntRangeSpliterator;
+import indi.mofan.spliterator.SplitTree;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author mofan
+ * @date 2026/10/19 23:20
+ */
+public class SpliteratorTest implements WithAssertions {
+
+    @Test
+    public void testArrayRange() {
+        Integer[] array = IntStream.range(0, 9).boxed().toArray(Integer[]::new);
+        Spliterator<Integer> sp1 = new ArrayRangeSpliterator<>(array, 1, 8);
+        Spliterator<Integer> sp2 = sp1.trySplit();
+        assertThat(sp2.estimateSize()).isEqualTo(3);
+        assertThat(sp1.estimateSize()).isEqualTo(4);
+        assertThat(sp1.hasCharacteristics(Spliterator.SUBSIZED)).isTrue();
+        assertThat(StreamSupport.stream(sp2, false)).containsExactly(1, 2, 3);
+        assertThat(StreamSupport.stream(sp1, false)).containsExactly(4, 5, 6, 7);
+
+        assertThat(StreamSupport.stream(new ArrayRangeSpliterator<Integer>(array, 0, 9), true).toList())
+                .containsExactly(array);
+    }
+
+    @Test
+    public void testIntRange() {
+        SplitTree tree = SplitTree.of(new IntRangeSpliterator(0, 1000, 100), 10);
+        // 不会切分出少于 100 个元素的分片
+        assertThat(tree.leaves()).hasSize(8).allMatch(i -> i >= 100);
+        assertThat(tree.total()).isEqualTo(1000);
+        assertThat(tree.imbalance()).isLessThan(1.05);
+
+        assertThat(StreamSupport.intStream(new IntRangeSpliterator(-5, 5), true).sum()).isEqualTo(-5);
+    }
+
+    @Test
+    public void testChunkedIterator() {
+        Spliterator<Integer> spliterator = new ChunkedIteratorSpliterator<>(
+                Stream.iterate(0, i -> i + 1).limit(100).iterator(), Spliterator.ORDERED);
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isFalse();
+        // 批次大小指数增长
+        assertThat(spliterator.trySplit().estimateSize()).isEqualTo(16);
+        assertThat(spliterator.trySplit().estimateSize()).isEqualTo(32);
+        assertThat(StreamSupport.stream(spliterator, false)).containsExactlyElementsOf(
+                IntStream.range(48, 100).boxed().toList());
+
+        Spliterator<Integer> sized = new ChunkedIteratorSpliterator<>(
+                IntStream.range(0, 10_000).iterator(), 10_000, Spliterator.ORDERED, 16, 1024);
+        assertThat(sized.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        assertThat(StreamSupport.stream(sized, true).toList())
+                .containsExactlyElementsOf(IntStream.range(0, 10_000).boxed().toList());
+    }
+
+    @Test
+    public void testPythagoreanTriple() {
+        // 与 flatMap 版本的结果一致
+        assertThat(MyMethod.getPythagoreanTripleParallelStream(1, 100, 20).toList())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(MyMethod.getPythagoreanTripleIntStream(1, 100, 20).toList());
+
+        Spliterator<int[]> pairs = MyMethod.pairs(1, 100);
+        assertThat(pairs.estimateSize()).isEqualTo(100 * 101 / 2);
+        // 按 (i, j) 对的个数均匀切分
+        SplitTree tree = SplitTree.of(pairs, 3);
+        System.out.println(tree);
+        assertThat(tree.total()).isEqualTo(100 * 101 / 2);
+        assertThat(tree.imbalance()).isLessThan(1.01);
+
+        assertThat(StreamSupport.stream(MyMethod.pairs(3, 5), false))
+                .containsExactly(new int[]{3, 3}, new int[]{3, 4}, new int[]{3, 5},
+                        new int[]{4, 4}, new int[]{4, 5}, new int[]{5, 5});
+        assertThat(StreamSupport.stream(MyMethod.pairs(5, 3), false)).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package indi.mofan;
+
+import indi.mofan.gather.StreamGatherers;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @author mofan
+ * @date 2026/10/20 11:00
+ */
+public class StreamGatherersTest implements WithAssertions {
+
+    @Test
+    public void testWindowFixed() {
+        assertThat(StreamGatherers.windowFixed(Stream.of(1, 2, 3, 4, 5), 2))
+                .containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+        assertThat(StreamGatherers.windowFixed(Stream.empty(), 2)).isEmpty();
+
+        // 惰性拉取，无限流配合 limit 使用
+        assertThat(StreamGatherers.windowFixed(Stream.iterate(1, i -> i + 1), 3).limit(2))
+                .containsExactly(List.of(1, 2, 3), List.of(4, 5, 6));
+
+        List<List<Integer>> parallel = StreamGatherers.windowFixed(IntStream.range(0, 10_000).boxed().parallel(), 7).toList();
+        assertThat(parallel).hasSize(1429);
+        assertThat(parallel.get(1000)).containsExactly(7000, 7001, 7002, 7003, 7004, 7005, 7006);
+        assertThatIllegalArgumentException().isThrownBy(() -> StreamGatherers.windowFixed(Stream.of(1), 0));
+    }
+
+    @Test
+    public void testWindowSliding() {
+        assertThat(StreamGatherers.windowSliding(Stream.of(1, 2, 3, 4), 3))
+                .containsExactly(List.of(1, 2, 3), List.of(2, 3, 4));
+        assertThat(StreamGatherers.windowSliding(Stream.of(1, 2), 3)).containsExactly(List.of(1, 2));
+        assertThat(StreamGatherers.windowSliding(Stream.empty(), 3)).isEmpty();
+
+        // 滚动平均
+        List<Double> averages = StreamGatherers.windowSliding(Stream.of(1, 2, 3, 4, 5, 6), 3)
+                .map(w -> w.stream().mapToInt(Integer::intValue).average().orElseThrow())
+                .toList();
+        assertThat(averages).containsExactly(2.0, 3.0, 4.0, 5.0);
+    }
+
+    @Test
+    public void testBatch() {
+        AtomicInteger calls = new AtomicInteger();
+        List<String> result = StreamGatherers.batch(IntStream.range(0, 10).boxed(), 4, batch -> {
+            calls.incrementAndGet();
+            return batch.stream().map(i -> "#" + i).toList();
+        }).toList();
+        assertThat(result).hasSize(10).startsWith("#0", "#1").endsWith("#9");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    public void testScan() {
+        assertThat(StreamGatherers.scan(Stream.of(1, 2, 3, 4), () -> 0, Integer::sum))
+                .containsExactly(1, 3, 6, 10);
+        assertThat(StreamGatherers.scan(Stream.of("a", "b", "c"), () -> "", String::concat))
+                .containsExactly("a", "ab", "abc");
+    }
+
+    @Test
+    public void testMapConcurrent() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> result = StreamGatherers.mapConcurrent(IntStream.range(0, 50).boxed(), 4, i -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                // 越靠前的元素越慢，验证结果依然按顺序输出
+                Thread.sleep(50 - i);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+            return i * 2;
+        }).toList();
+        assertThat(result).containsExactlyElementsOf(IntStream.range(0, 50).map(i -> i * 2).boxed().toList());
+        assertThat(maxRunning.get()).isBetween(1, 4);
+
+        assertThatIllegalStateException().isThrownBy(() -> StreamGatherers.mapConcurrent(Stream.of(1, 2, 3), 2, i -> {
+            if (i == 2) {
+                throw new IllegalStateException("boom");
+            }
+            return i;
+        }).toList()).withMessage("boom");
+    }
+}
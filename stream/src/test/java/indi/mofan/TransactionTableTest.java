@@ -0,0 +1,61 @@
+package indi.mofan;
+
+import indi.mofan.column.TransactionTable;
+import indi.mofan.domain.Trader;
+import indi.mofan.domain.Transaction;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * @author mofan
+ * @date 2026/10/19 16:10
+ */
+public class TransactionTableTest implements WithAssertions {
+
+    private final Trader raoul = new Trader("Raoul", "Cambridge");
+    private final Trader mario = new Trader("Mario", "Milan");
+    private final Trader alan = new Trader("Alan", "Cambridge");
+    private final Trader brian = new Trader("Brian", "Cambridge");
+
+    private final List<Transaction> transactions = List.of(
+            new Transaction(brian, 2011, 300),
+            new Transaction(raoul, 2012, 1000),
+            new Transaction(raoul, 2011, 400),
+            new Transaction(mario, 2012, 710),
+            new Transaction(mario, 2012, 700),
+            new Transaction(alan, 2012, 950)
+    );
+
+    @Test
+    public void testAggregation() {
+        TransactionTable table = TransactionTable.of(transactions);
+        assertThat(table.size()).isEqualTo(6);
+        assertThat(table.sumValue()).isEqualTo(4060);
+        assertThat(table.sumByYear()).containsExactly(entry(2011, 700L), entry(2012, 3360L));
+        assertThat(table.sumByCity()).containsOnly(entry("Cambridge", 2650L), entry("Milan", 1410L));
+        assertThat(table.minByCity()).containsOnly(entry("Cambridge", 300), entry("Milan", 700));
+        assertThat(table.maxByCity()).containsOnly(entry("Cambridge", 1000), entry("Milan", 710));
+    }
+
+    @Test
+    public void testFilter() {
+        TransactionTable table = TransactionTable.of(transactions);
+
+        TransactionTable year2011 = table.filterYear(2011, 2011);
+        assertThat(year2011.size()).isEqualTo(2);
+        assertThat(year2011.stream().map(Transaction::getValue)).containsExactly(300, 400);
+
+        TransactionTable milan = table.filterCity("Milan").filterValueAtLeast(705);
+        assertThat(milan.size()).isEqualTo(1);
+        assertThat(milan.get(0).getTrader().getName()).isEqualTo("Mario");
+        assertThat(milan.maxByCity()).containsOnly(entry("Milan", 710));
+
+        assertThat(table.filterCity("Beijing").size()).isZero();
+        assertThat(table.filterCity("Beijing").sumByCity()).isEmpty();
+
+        // 还原出的交易员实例是共享的
+        assertThat(table.get(1).getTrader()).isSameAs(table.get(2).getTrader());
+    }
+}
@@ -0,0 +1,81 @@
+package indi.mofan.csv;
+
+import indi.mofan.domain.Trader;
+import indi.mofan.domain.Transaction;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * @author mofan
+ * @date 2026/10/19 17:20
+ */
+public class TransactionCsvLoaderTest implements WithAssertions {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testLoad() throws IOException {
+        Path file = dir.resolve("transactions.csv");
+        Files.writeString(file, """
+                name,city,year,value
+                Raoul,Cambridge,2011,400\r
+                Mario,米兰,2012,710
+
+                Raoul,Cambridge,2012,-1000""");
+
+        try (Stream<Transaction> stream = TransactionCsvLoader.stream(file, true)) {
+            List<Transaction> list = stream.toList();
+            assertThat(list).extracting(Transaction::getYear).containsExactly(2011, 2012, 2012);
+            assertThat(list).extracting(Transaction::getValue).containsExactly(400, 710, -1000);
+            assertThat(list.get(1).getTrader().getCity()).isEqualTo("米兰");
+            assertThat(list.get(0).getTrader()).isSameAs(list.get(2).getTrader());
+        }
+    }
+
+    @Test
+    public void testMalformed() throws IOException {
+        Path file = dir.resolve("malformed.csv");
+        Files.writeString(file, "Raoul,Cambridge,2011\n");
+        try (Stream<Transaction> stream = TransactionCsvLoader.stream(file)) {
+            assertThatIllegalArgumentException().isThrownBy(stream::toList);
+        }
+    }
+
+    @Test
+    public void testParallel() throws IOException {
+        Path file = dir.resolve("large.csv");
+        List<String> lines = new ArrayList<>();
+        long expected = 0;
+        for (int i = 0; i < 20_000; i++) {
+            lines.add("trader" + (i % 37) + ",city" + (i % 5) + "," + (2000 + i % 20) + "," + i);
+            expected += i;
+        }
+        Files.write(file, lines);
+
+        // 使用很小的分片和映射窗口，覆盖行边界切分和窗口截断一行的情况
+        try (Stream<Transaction> stream = TransactionCsvLoader.stream(file, false, 1024, 4096)) {
+            List<Transaction> list = stream.parallel().toList();
+            assertThat(list).hasSize(20_000);
+            assertThat(list.stream().mapToLong(Transaction::getValue).sum()).isEqualTo(expected);
+            // 并行流依然保持顺序
+            assertThat(list.get(12_345).getValue()).isEqualTo(12_345);
+
+            // 37 与 5 互质，共有 37 * 5 种 (name, city) 组合，各分片共享同一个交易员实例
+            Set<Trader> traders = Collections.newSetFromMap(new IdentityHashMap<>());
+            list.forEach(i -> traders.add(i.getTrader()));
+            assertThat(traders).hasSize(37 * 5);
+        }
+    }
+}